@@ -0,0 +1,31 @@
+-- Full-text search backend (search.backend=postgres) for music, albums and support tickets.
+-- Generated tsvector columns are maintained by Postgres itself, so the JPA entities do not map them.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Catalog text uses the 'simple' configuration: titles and artist names should not be stemmed
+ALTER TABLE music ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(artist_username, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(album_name, '') || ' ' || coalesce(genre, '')), 'C') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'D')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_music_search_vector ON music USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_music_name_trgm ON music USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_music_artist_username_trgm ON music USING gin (lower(artist_username) gin_trgm_ops);
+
+ALTER TABLE albums ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(artist, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(genre, '')), 'C') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'D')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_albums_search_vector ON albums USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_albums_title_trgm ON albums USING gin (lower(title) gin_trgm_ops);
+
+-- Ticket conversations are prose, so they are stemmed with the 'english' configuration
+ALTER TABLE ticket_messages ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_ticket_messages_search_vector ON ticket_messages USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_tickets_subject_trgm ON tickets USING gin (lower(subject) gin_trgm_ops);
@@ -0,0 +1,8 @@
+-- Composite indexes backing keyset pagination: each page is a range scan on (sort key, id)
+UPDATE music SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+DROP INDEX IF EXISTS idx_music_created_at;
+CREATE INDEX IF NOT EXISTS idx_music_created_at_id ON music (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_order_date_id ON orders (order_date, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_order_date_id ON orders (status, order_date, id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp_id ON audit_logs (timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_admin_timestamp_id ON audit_logs (admin_username, timestamp, id);
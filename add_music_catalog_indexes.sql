@@ -0,0 +1,9 @@
+-- Indexes for the GET /api/music catalog query (genre/artist filters, default createdAt sort)
+CREATE INDEX IF NOT EXISTS idx_music_genre ON music (genre);
+CREATE INDEX IF NOT EXISTS idx_music_artist_username ON music (artist_username);
+CREATE INDEX IF NOT EXISTS idx_music_created_at ON music (created_at);
+
+-- Trigram indexes so the case-insensitive "contains" search can use an index
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_music_name_trgm ON music USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_music_artist_username_trgm ON music USING gin (lower(artist_username) gin_trgm_ops);
@@ -0,0 +1,8 @@
+-- Create catalog_generations table: shared change counters behind the catalog list ETags
+CREATE TABLE IF NOT EXISTS catalog_generations (
+    name VARCHAR(30) PRIMARY KEY,
+    generation BIGINT NOT NULL
+);
+
+INSERT INTO catalog_generations (name, generation) VALUES ('music', 1), ('albums', 1)
+ON CONFLICT (name) DO NOTHING;
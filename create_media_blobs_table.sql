@@ -0,0 +1,8 @@
+-- Create media_blobs table: reference counts for content-addressed uploads (SHA-256 name + extension)
+CREATE TABLE IF NOT EXISTS media_blobs (
+    name VARCHAR(100) PRIMARY KEY,
+    ref_count INTEGER NOT NULL,
+    size BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,15 @@
+-- Create token_revocations table: revoked token ids (jti) and per-user "not before" cut-offs
+CREATE TABLE IF NOT EXISTS token_revocations (
+    id BIGSERIAL PRIMARY KEY,
+    revocation_key VARCHAR(255) NOT NULL,
+    kind VARCHAR(10) NOT NULL,
+    username VARCHAR(255),
+    token_id VARCHAR(255),
+    not_before BIGINT,
+    expires_at TIMESTAMP,
+    reason VARCHAR(50),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_token_revocations_key ON token_revocations (revocation_key);
+CREATE INDEX IF NOT EXISTS idx_token_revocations_updated_at ON token_revocations (updated_at);
@@ -0,0 +1,28 @@
+-- Create user_identity table: one row per username across all user tables
+CREATE TABLE IF NOT EXISTS user_identity (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    owner_table VARCHAR(30) NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_identity_username ON user_identity (username);
+
+-- Backfill from the existing user tables (same precedence as the old lookup: admin, staff, artist, customer)
+INSERT INTO user_identity (username, role, owner_table, user_id)
+SELECT username, 'ADMIN', 'admins', id FROM admins
+ON CONFLICT (username) DO NOTHING;
+
+INSERT INTO user_identity (username, role, owner_table, user_id)
+SELECT username, 'STAFF', 'staff', id FROM staff
+ON CONFLICT (username) DO NOTHING;
+
+INSERT INTO user_identity (username, role, owner_table, user_id)
+SELECT user_name, 'ARTIST', 'artists', id FROM artists
+ON CONFLICT (username) DO NOTHING;
+
+INSERT INTO user_identity (username, role, owner_table, user_id)
+SELECT username, 'CUSTOMER', 'customers', id FROM customers
+ON CONFLICT (username) DO NOTHING;
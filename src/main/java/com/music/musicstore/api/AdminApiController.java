@@ -1,5 +1,7 @@
 package com.music.musicstore.api;
 
+import com.music.musicstore.configs.BoundedPasswordEncoder;
+import com.music.musicstore.configs.RateLimitRegistry;
 import com.music.musicstore.dto.UnifiedRegisterRequest;
 import com.music.musicstore.dto.UserDto;
 import com.music.musicstore.dto.StaffRegistrationRequest;
@@ -7,22 +9,28 @@ import com.music.musicstore.dto.StaffRegistrationResponse;
 import com.music.musicstore.dto.AdminRegistrationRequest;
 import com.music.musicstore.dto.AdminRegistrationResponse;
 import com.music.musicstore.dto.ErrorResponse;
+import com.music.musicstore.dto.MusicImportReport;
 import com.music.musicstore.services.*;
 import com.music.musicstore.models.users.Staff;
 import com.music.musicstore.models.users.Admin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -60,6 +68,45 @@ public class AdminApiController {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private MusicSearchIndex musicSearchIndex;
+
+    @Autowired
+    private MusicSuggestionIndex musicSuggestionIndex;
+
+    @Autowired
+    private MusicFacetIndex musicFacetIndex;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogRailsService railsService;
+
+    @Autowired
+    private CatalogDirectory catalogDirectory;
+
+    @Autowired
+    private MusicExportService musicExportService;
+
+    @Autowired
+    private MusicImportService musicImportService;
+
+    @Autowired
+    private MediaRegistry mediaRegistry;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RateLimitRegistry rateLimitRegistry;
+
     @Autowired
     private ConfigurableApplicationContext applicationContext;
     @Autowired
@@ -269,6 +316,8 @@ public class AdminApiController {
     public ResponseEntity<?> getAllMusic(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             @AuthenticationPrincipal UserDetails currentUser,
             HttpServletRequest httpRequest) {
         try {
@@ -281,6 +330,9 @@ public class AdminApiController {
                 httpRequest
             );
 
+            if (cursor != null) {
+                return ResponseEntity.ok(musicService.getAllMusicForAdminByCursor(cursor, size, includeTotal));
+            }
             return ResponseEntity.ok(musicService.getAllMusicForAdmin(page, size));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -288,6 +340,60 @@ public class AdminApiController {
         }
     }
 
+    // Whole catalog as NDJSON (default) or CSV, streamed straight to the response
+    @GetMapping("/music/export")
+    public void exportMusic(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserDetails currentUser,
+            HttpServletRequest httpRequest,
+            HttpServletResponse response) throws IOException {
+        MusicExportService.Format exportFormat = MusicExportService.Format.parse(format);
+
+        auditLogService.logAdminAction(
+            currentUser.getUsername(),
+            "EXPORT_MUSIC",
+            "MUSIC",
+            null,
+            "Exported music catalog as " + exportFormat.getExtension(),
+            httpRequest
+        );
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"music-export-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"");
+        musicExportService.export(exportFormat, response.getOutputStream());
+    }
+
+    // Bulk import in the export layout; the format comes from the file name unless given
+    @PostMapping("/music/import")
+    public ResponseEntity<?> importMusic(
+            @RequestParam MultipartFile file,
+            @RequestParam(required = false) String format,
+            @AuthenticationPrincipal UserDetails currentUser,
+            HttpServletRequest httpRequest) throws IOException {
+        MusicExportService.Format importFormat = format != null
+            ? MusicExportService.Format.parse(format)
+            : MusicExportService.Format.forFileName(file.getOriginalFilename());
+
+        MusicImportReport report;
+        try (InputStream input = file.getInputStream()) {
+            report = musicImportService.importMusic(importFormat, input);
+        }
+
+        auditLogService.logAdminAction(
+            currentUser.getUsername(),
+            "IMPORT_MUSIC",
+            "MUSIC",
+            null,
+            String.format("Imported %d of %d tracks from %s (%d failed)", report.getImported(),
+                report.getTotalRows(), file.getOriginalFilename(), report.getFailed()),
+            httpRequest
+        );
+
+        return ResponseEntity.ok(report);
+    }
+
     @DeleteMapping("/music/{musicId}")
     public ResponseEntity<?> deleteMusic(@PathVariable Long musicId,
                                        @AuthenticationPrincipal UserDetails currentUser,
@@ -528,6 +634,8 @@ public class AdminApiController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             @AuthenticationPrincipal UserDetails currentUser,
             HttpServletRequest httpRequest) {
         try {
@@ -540,6 +648,9 @@ public class AdminApiController {
                 httpRequest
             );
 
+            if (cursor != null) {
+                return ResponseEntity.ok(orderService.getAllOrdersForAdminByCursor(cursor, size, status, includeTotal));
+            }
             return ResponseEntity.ok(orderService.getAllOrdersForAdmin(page, size, status));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -848,6 +959,8 @@ public class AdminApiController {
             status.put("uptime", getSystemUptime());
             status.put("timestamp", LocalDateTime.now());
             status.put("version", "1.0.0");
+            status.put("passwordHashing", passwordEncoder.getStats());
+            status.put("rateLimits", rateLimitRegistry.getStats());
             return ResponseEntity.ok(status);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -855,6 +968,26 @@ public class AdminApiController {
         }
     }
 
+    @GetMapping("/system/caches")
+    public ResponseEntity<?> getCacheStats(@AuthenticationPrincipal UserDetails currentUser) {
+        try {
+            Map<String, Object> caches = new HashMap<>();
+            caches.put("userDetails", userDetailsCache.getStats());
+            caches.put("tokenRevocation", tokenRevocationService.getStats());
+            caches.put("searchIndex", musicSearchIndex.getStats());
+            caches.put("suggestions", musicSuggestionIndex.getStats());
+            caches.put("facets", musicFacetIndex.getStats());
+            caches.put("catalog", catalogCache.getStats());
+            caches.put("rails", railsService.getStats());
+            caches.put("directory", catalogDirectory.getStats());
+            caches.put("media", mediaRegistry.getStats());
+            return ResponseEntity.ok(caches);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Failed to get cache statistics: " + e.getMessage()));
+        }
+    }
+
     // Admin Ticket Management
     @GetMapping("/tickets")
     public ResponseEntity<?> getAllTicketsAdmin(@RequestParam(required = false) String status,
@@ -1136,6 +1269,8 @@ public class AdminApiController {
             @RequestParam(required = false) String adminUsername,
             @RequestParam(required = false) String action,
             @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             @AuthenticationPrincipal UserDetails currentUser,
             HttpServletRequest httpRequest) {
         try {
@@ -1149,6 +1284,10 @@ public class AdminApiController {
                 httpRequest
             );
 
+            if (cursor != null) {
+                return ResponseEntity.ok(auditLogService.getAuditLogsByCursor(cursor, size, adminUsername, includeTotal));
+            }
+
             // Implement filtering logic based on parameters
             org.springframework.data.domain.Pageable pageable =
                 org.springframework.data.domain.PageRequest.of(page, size);
@@ -1449,6 +1588,11 @@ public class AdminApiController {
             Staff staff = staffService.findById(staffId);
             staff.setEnabled(request.isEnabled());
             staffService.updateStaff(staff);
+            if (request.isEnabled()) {
+                tokenRevocationService.enableUser(staff.getUsername());
+            } else {
+                tokenRevocationService.disableUser(staff.getUsername());
+            }
 
             auditLogService.logAdminAction(
                 currentUser.getUsername(),
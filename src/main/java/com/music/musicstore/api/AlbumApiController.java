@@ -1,11 +1,17 @@
 package com.music.musicstore.api;
 
 import com.music.musicstore.dto.AlbumDto;
+import com.music.musicstore.dto.CatalogMapper;
+import com.music.musicstore.dto.SearchHit;
 import com.music.musicstore.models.music.Album;
 import com.music.musicstore.repositories.ArtistRepository;
 import com.music.musicstore.services.AlbumService;
+import com.music.musicstore.services.CatalogDirectory;
+import com.music.musicstore.services.CatalogVersions;
+import com.music.musicstore.services.FullTextSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,11 +31,21 @@ public class AlbumApiController {
 
     private final AlbumService albumService;
     private final ArtistRepository artistRepository;
+    private final FullTextSearchService fullTextSearchService;
+    private final CatalogDirectory catalogDirectory;
+    private final CatalogMapper catalogMapper;
+    private final CatalogVersions catalogVersions;
 
     @Autowired
-    public AlbumApiController(AlbumService albumService, ArtistRepository artistRepository) {
+    public AlbumApiController(AlbumService albumService, ArtistRepository artistRepository,
+                              FullTextSearchService fullTextSearchService, CatalogDirectory catalogDirectory,
+                              CatalogMapper catalogMapper, CatalogVersions catalogVersions) {
         this.albumService = albumService;
         this.artistRepository = artistRepository;
+        this.fullTextSearchService = fullTextSearchService;
+        this.catalogDirectory = catalogDirectory;
+        this.catalogMapper = catalogMapper;
+        this.catalogVersions = catalogVersions;
     }
 
     // GET /api/albums - Get all albums with pagination and filtering
@@ -41,33 +57,43 @@ public class AlbumApiController {
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) String genre,
             @RequestParam(required = false) String artist,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        Page<Album> albumPage;
+        String etag = catalogVersions.albumListETag();
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag);
+        }
+
+        Page<AlbumDto> albumDtoPage;
 
         if (search != null && !search.trim().isEmpty()) {
-            albumPage = albumService.searchAlbumsByTitle(search, page, size);
+            albumDtoPage = albumService.searchAlbumsByTitle(search, page, size).map(catalogMapper::toAlbumDto);
         } else if (genre != null && !genre.trim().isEmpty()) {
-            albumPage = albumService.getAlbumsByGenre(genre, page, size);
+            albumDtoPage = albumService.getAlbumsByGenre(genre, page, size).map(catalogMapper::toAlbumListDto);
         } else if (artist != null && !artist.trim().isEmpty()) {
-            albumPage = albumService.getAlbumsByArtistUsername(artist, page, size);
+            albumDtoPage = albumService.getAlbumsByArtistUsername(artist, page, size).map(catalogMapper::toAlbumListDto);
         } else {
-            albumPage = albumService.getAllAlbumsPaginated(page, size, sortBy, sortDir);
+            albumDtoPage = albumService.getAllAlbumsPaginated(page, size, sortBy, sortDir).map(catalogMapper::toAlbumListDto);
         }
 
-        Page<AlbumDto> albumDtoPage = albumPage.map(this::convertToDto);
-        return ResponseEntity.ok(albumDtoPage);
+        return HttpCaching.ok(etag).body(albumDtoPage);
     }
 
     // GET /api/albums/{id} - Get album by ID
     @GetMapping("/{id}")
-    public ResponseEntity<AlbumDto> getAlbumById(@PathVariable Long id) {
+    public ResponseEntity<AlbumDto> getAlbumById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Optional<Album> album = albumService.getAlbumById(id);
-        if (album.isPresent()) {
-            return ResponseEntity.ok(convertToDto(album.get()));
-        } else {
+        if (album.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        String etag = catalogVersions.albumETag(album.get());
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag);
+        }
+        return HttpCaching.ok(etag).body(catalogMapper.toAlbumDto(album.get()));
     }
 
     // GET /api/albums/{id}/with-tracks - Get album by ID with tracks
@@ -76,7 +102,7 @@ public class AlbumApiController {
         try {
             Album album = albumService.getAlbumByIdWithTracks(id);
             if (album != null) {
-                return ResponseEntity.ok(convertToDto(album));
+                return ResponseEntity.ok(catalogMapper.toAlbumDto(album));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -101,7 +127,7 @@ public class AlbumApiController {
             album.setReleaseDate(request.getReleaseDate());
 
             Album savedAlbum = albumService.saveAlbum(album);
-            return ResponseEntity.status(HttpStatus.CREATED).body(convertToDto(savedAlbum));
+            return ResponseEntity.status(HttpStatus.CREATED).body(catalogMapper.toAlbumDto(savedAlbum));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -131,7 +157,7 @@ public class AlbumApiController {
 
             Album updatedAlbum = albumService.updateAlbum(id, albumDetails);
             if (updatedAlbum != null) {
-                return ResponseEntity.ok(convertToDto(updatedAlbum));
+                return ResponseEntity.ok(catalogMapper.toAlbumDto(updatedAlbum));
             } else {
                 return ResponseEntity.badRequest().build();
             }
@@ -162,8 +188,8 @@ public class AlbumApiController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size) {
         try {
-            Page<Album> albumPage = albumService.getAlbumsByArtistUsername(artistUsername, page, size);
-            Page<AlbumDto> albumDtoPage = albumPage.map(this::convertToDto);
+            Page<AlbumDto> albumDtoPage = albumService.getAlbumsByArtistUsername(artistUsername, page, size)
+                    .map(catalogMapper::toAlbumListDto);
             return ResponseEntity.ok(albumDtoPage);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -184,8 +210,7 @@ public class AlbumApiController {
     // GET /api/albums/genres - Get all unique genres
     @GetMapping("/genres")
     public ResponseEntity<List<String>> getAllGenres() {
-        List<String> genres = List.of("Pop", "Rock", "Jazz", "Classical", "Electronic", "Hip-Hop", "Country", "Blues", "Alternative", "R&B");
-        return ResponseEntity.ok(genres);
+        return ResponseEntity.ok(catalogDirectory.names(CatalogDirectory.ALBUM_GENRES));
     }
 
     // GET /api/albums/search - Search albums
@@ -196,28 +221,21 @@ public class AlbumApiController {
             @RequestParam(defaultValue = "12") int size) {
         try {
             Page<Album> albumPage = albumService.searchAlbumsByTitle(query, page, size);
-            Page<AlbumDto> albumDtoPage = albumPage.map(this::convertToDto);
+            Page<AlbumDto> albumDtoPage = albumPage.map(catalogMapper::toAlbumDto);
             return ResponseEntity.ok(albumDtoPage);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    // Convert Album entity to DTO
-    private AlbumDto convertToDto(Album album) {
-        return new AlbumDto(
-                album.getId(),
-                album.getTitle(),
-                album.getDescription(),
-                album.getArtistUsername() != null ? album.getArtistUsername() : "Unknown Artist",
-                album.getGenre(),
-                album.getPrice(),
-                album.getCoverImageUrl(),
-                album.getReleaseDate(),
-                album.getCreatedAt(),
-                album.getUpdatedAt(),
-                0  // Track count removed as tracks relationship was removed
-        );
+    // GET /api/albums/search/ranked - Relevance-ranked search with snippets (search.backend=postgres)
+    @GetMapping("/search/ranked")
+    public ResponseEntity<Page<SearchHit<AlbumDto>>> searchAlbumsRanked(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size) {
+        return ResponseEntity.ok(fullTextSearchService.searchAlbums(query, page, size)
+                .map(hit -> hit.map(catalogMapper::toAlbumDto)));
     }
 
     // Request DTOs for API
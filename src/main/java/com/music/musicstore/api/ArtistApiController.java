@@ -1,5 +1,6 @@
 package com.music.musicstore.api;
 
+import com.music.musicstore.dto.CatalogMapper;
 import com.music.musicstore.dto.MusicDto;
 import com.music.musicstore.models.music.Music;
 import com.music.musicstore.services.MusicService;
@@ -37,6 +38,9 @@ public class ArtistApiController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private CatalogMapper catalogMapper;
+
     @PostMapping("/music/upload")
     public ResponseEntity<?> uploadMusic(
             @RequestParam String title,
@@ -70,7 +74,7 @@ public class ArtistApiController {
                 title, genre, price, description, musicFile, coverImage, userDetails.getUsername()
             );
 
-            MusicDto musicDto = convertToDto(music);
+            MusicDto musicDto = catalogMapper.toMusicDto(music, null);
             logger.info("Successfully uploaded music: {} by artist: {}", title, userDetails.getUsername());
 
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -98,9 +102,8 @@ public class ArtistApiController {
         try {
             if (page == 0 && size == 10) {
                 // Return all music if default pagination
-                List<Music> musicList = musicService.getMusicByArtist(userDetails.getUsername());
-                List<MusicDto> musicDtoList = musicList.stream()
-                    .map(this::convertToDto)
+                List<MusicDto> musicDtoList = musicService.getMusicSummariesByArtist(userDetails.getUsername()).stream()
+                    .map(music -> catalogMapper.toMusicListDto(music, null))
                     .toList();
 
                 Map<String, Object> response = new HashMap<>();
@@ -113,8 +116,8 @@ public class ArtistApiController {
                 return ResponseEntity.ok(new ApiResponse(true, "Music retrieved successfully", response));
             } else {
                 // Return paginated results
-                Page<Music> musicPage = musicService.getMusicByArtistPaginated(userDetails.getUsername(), page, size);
-                Page<MusicDto> musicDtoPage = musicPage.map(this::convertToDto);
+                Page<MusicDto> musicDtoPage = musicService.getMusicSummariesByArtist(userDetails.getUsername(), page, size)
+                    .map(music -> catalogMapper.toMusicListDto(music, null));
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("music", musicDtoPage.getContent());
@@ -162,7 +165,7 @@ public class ArtistApiController {
 
         try {
             Music updatedMusic = musicService.updateMusic(musicId, musicDto, userDetails.getUsername());
-            MusicDto updatedMusicDto = convertToDto(updatedMusic);
+            MusicDto updatedMusicDto = catalogMapper.toMusicDto(updatedMusic, null);
 
             logger.info("Successfully updated music ID: {} by artist: {}", musicId, userDetails.getUsername());
             return ResponseEntity.ok(new ApiResponse(true, "Music updated successfully", updatedMusicDto));
@@ -318,26 +321,6 @@ public class ArtistApiController {
         }
     }
 
-    // Helper method to convert Music entity to MusicDto
-    private MusicDto convertToDto(Music music) {
-        MusicDto dto = new MusicDto();
-        dto.setId(music.getId());
-        dto.setName(music.getName());
-        dto.setDescription(music.getDescription());
-        dto.setPrice(music.getPrice());
-        dto.setImageUrl(music.getImageUrl());
-        dto.setAudioFilePath(music.getAudioFilePath());
-        dto.setCategory(music.getCategory());
-        dto.setArtist(music.getArtistUsername() != null ? music.getArtistUsername() : "Unknown Artist");
-        dto.setAlbum(music.getAlbumName());
-        dto.setGenre(music.getGenre());
-        dto.setReleaseYear(music.getReleaseYear());
-        dto.setCreatedAt(music.getCreatedAt());
-        dto.setAverageRating(music.getAverageRating() != null ? music.getAverageRating().doubleValue() : 0.0);
-        dto.setTotalReviews(music.getTotalReviews());
-        return dto;
-    }
-
     public static class ApiResponse {
         private boolean success;
         private String message;
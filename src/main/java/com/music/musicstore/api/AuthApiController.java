@@ -1,21 +1,26 @@
 package com.music.musicstore.api;
 
+import com.music.musicstore.configs.BoundedPasswordEncoder;
 import com.music.musicstore.configs.JwtUtil;
+import com.music.musicstore.configs.RateLimitRegistry;
+import com.music.musicstore.exceptions.TooManyRequestsException;
+import com.music.musicstore.configs.VerifiedToken;
 import com.music.musicstore.dto.LoginRequest;
+import com.music.musicstore.dto.RefreshTokenRequest;
 import com.music.musicstore.dto.RegisterRequest;
 import com.music.musicstore.dto.UnifiedRegisterRequest;
 import com.music.musicstore.dto.AuthResponse;
 import com.music.musicstore.dto.UserDto;
+import com.music.musicstore.services.RefreshTokenService;
+import com.music.musicstore.services.TokenRevocationService;
 import com.music.musicstore.services.UnifiedUserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -25,36 +30,70 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "http://localhost:5173")
 public class AuthApiController {
 
-    private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
     private final UnifiedUserService unifiedUserService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final BoundedPasswordEncoder loginPasswordEncoder;
+    private final RateLimitRegistry rateLimitRegistry;
+
+    // Checked against when the username does not exist, so the response time does not reveal it
+    private final String unknownUserHash;
 
     @Autowired
-    public AuthApiController(AuthenticationManager authenticationManager,
-                           @Qualifier("combinedUserDetailsService") UserDetailsService userDetailsService,
+    public AuthApiController(@Qualifier("combinedUserDetailsService") UserDetailsService userDetailsService,
                            JwtUtil jwtUtil,
-                           UnifiedUserService unifiedUserService) {
-        this.authenticationManager = authenticationManager;
+                           UnifiedUserService unifiedUserService,
+                           TokenRevocationService tokenRevocationService,
+                           RefreshTokenService refreshTokenService,
+                           BoundedPasswordEncoder loginPasswordEncoder,
+                           RateLimitRegistry rateLimitRegistry) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.unifiedUserService = unifiedUserService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+        this.loginPasswordEncoder = loginPasswordEncoder;
+        this.rateLimitRegistry = rateLimitRegistry;
+        this.unknownUserHash = loginPasswordEncoder.encode("unknown-user-placeholder");
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
         System.out.println("Login request received: " + request.getUsername());
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
+            // Per-account budget on top of the per-IP filter, against credential stuffing from many addresses
+            long waitMillis = rateLimitRegistry.acquireForAccount("/api/auth/login", request.getUsername());
+            if (waitMillis > 0) {
+                throw new TooManyRequestsException("Too many sign-in attempts for this account, please retry later",
+                        Math.max(1, (waitMillis + 999) / 1000));
+            }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-            String token = jwtUtil.generateToken(userDetails);
+            // Single fetch: the entity provides the hash, the token claims and the response body
+            UserDetails account;
+            try {
+                account = unifiedUserService.findAccountByUsername(request.getUsername());
+            } catch (UsernameNotFoundException e) {
+                account = null;
+            }
 
-            UserDto userDto = unifiedUserService.getUserInfo(userDetails);
+            String encodedPassword = account != null ? account.getPassword() : unknownUserHash;
+            boolean passwordMatches = loginPasswordEncoder.matches(request.getPassword(), encodedPassword);
+            if (account == null || !passwordMatches || !account.isEnabled()) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Invalid username or password"));
+            }
 
-            return ResponseEntity.ok(new AuthResponse(token, userDto));
+            String token = jwtUtil.generateToken(account);
+            UserDto userDto = unifiedUserService.toUserDto(account);
+            String refreshToken = refreshTokenService.issue(account.getUsername());
+
+            return ResponseEntity.ok(new AuthResponse(token, userDto, refreshToken));
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(429)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Invalid username or password"));
@@ -91,8 +130,9 @@ public class AuthApiController {
 
             UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
             String token = jwtUtil.generateToken(userDetails);
+            String refreshToken = refreshTokenService.issue(userDetails.getUsername());
 
-            return ResponseEntity.ok(new AuthResponse(token, userDto));
+            return ResponseEntity.ok(new AuthResponse(token, userDto, refreshToken));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Registration failed: " + e.getMessage()));
@@ -123,11 +163,13 @@ public class AuthApiController {
                     .body(new ErrorResponse("Invalid token format"));
             }
 
-            String token = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
+            VerifiedToken token = jwtUtil.verify(authHeader.substring(7));
+            if (tokenRevocationService.isRevoked(token)) {
+                return ResponseEntity.status(401)
+                    .body(new ErrorResponse("Invalid or expired token"));
+            }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(token.getSubject());
 
             if (jwtUtil.validateToken(token, userDetails)) {
                 UserDto userDto = unifiedUserService.getUserInfo(userDetails);
@@ -142,6 +184,50 @@ public class AuthApiController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+            // The only user lookup in the token lifecycle: disabled accounts cannot refresh
+            UserDetails userDetails = userDetailsService.loadUserByUsername(rotation.getUsername());
+            if (!userDetails.isEnabled()) {
+                refreshTokenService.revoke(rotation.getRefreshToken());
+                return ResponseEntity.status(401)
+                    .body(new ErrorResponse("Account is disabled"));
+            }
+
+            String token = jwtUtil.generateToken(userDetails);
+            UserDto userDto = unifiedUserService.getUserInfo(userDetails);
+            return ResponseEntity.ok(new AuthResponse(token, userDto, rotation.getRefreshToken()));
+        } catch (Exception e) {
+            return ResponseEntity.status(401)
+                .body(new ErrorResponse("Invalid or expired refresh token"));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader,
+                                    @RequestBody(required = false) RefreshTokenRequest request) {
+        try {
+            if (request != null) {
+                refreshTokenService.revoke(request.getRefreshToken());
+            }
+
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Invalid token format"));
+            }
+
+            VerifiedToken token = jwtUtil.verify(authHeader.substring(7));
+            tokenRevocationService.revokeToken(token, "LOGOUT");
+            return ResponseEntity.ok(new SuccessResponse("Logged out successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(401)
+                .body(new ErrorResponse("Token validation failed"));
+        }
+    }
+
     private boolean isValidRole(String role) {
         return role != null && (
             role.equalsIgnoreCase("CUSTOMER") ||
@@ -162,4 +248,16 @@ public class AuthApiController {
         public String getMessage() { return message; }
         public void setMessage(String message) { this.message = message; }
     }
+
+    // Inner class for success responses
+    public static class SuccessResponse {
+        private String message;
+
+        public SuccessResponse(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
 }
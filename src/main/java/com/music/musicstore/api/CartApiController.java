@@ -2,7 +2,7 @@ package com.music.musicstore.api;
 
 import com.music.musicstore.dto.CartDto;
 import com.music.musicstore.dto.CartItemDto;
-import com.music.musicstore.dto.MusicDto;
+import com.music.musicstore.dto.CatalogMapper;
 import com.music.musicstore.models.cart.Cart;
 import com.music.musicstore.models.cart.CartItem;
 import com.music.musicstore.models.music.Music;
@@ -26,10 +26,12 @@ public class CartApiController {
 
     private final CartService cartService;
     private final OrderService orderService;
+    private final CatalogMapper catalogMapper;
 
-    public CartApiController(CartService cartService, OrderService orderService) {
+    public CartApiController(CartService cartService, OrderService orderService, CatalogMapper catalogMapper) {
         this.cartService = cartService;
         this.orderService = orderService;
+        this.catalogMapper = catalogMapper;
     }
 
     @GetMapping
@@ -149,28 +151,9 @@ public class CartApiController {
 
         // Convert Music entity to MusicDto
         if (cartItem.getMusic() != null) {
-            itemDto.setMusic(convertMusicToDto(cartItem.getMusic()));
+            itemDto.setMusic(catalogMapper.toMusicDto(cartItem.getMusic(), null));
         }
 
         return itemDto;
     }
-
-    private MusicDto convertMusicToDto(com.music.musicstore.models.music.Music music) {
-        MusicDto musicDto = new MusicDto();
-        musicDto.setId(music.getId());
-        musicDto.setName(music.getName());
-        musicDto.setDescription(music.getDescription());
-        musicDto.setPrice(music.getPrice());
-        musicDto.setImageUrl(music.getImageUrl());
-        musicDto.setAudioFilePath(music.getAudioFilePath());
-        musicDto.setCategory(music.getCategory());
-        musicDto.setArtist(music.getArtistUsername());
-        musicDto.setAlbum(music.getAlbumName());
-        musicDto.setGenre(music.getGenre());
-        musicDto.setReleaseYear(music.getReleaseYear());
-        musicDto.setCreatedAt(music.getCreatedAt());
-        musicDto.setAverageRating(music.getAverageRating() != null ? music.getAverageRating().doubleValue() : 0.0);
-        musicDto.setTotalReviews(music.getTotalReviews());
-        return musicDto;
-    }
 }
@@ -2,10 +2,12 @@ package com.music.musicstore.api;
 
 import com.music.musicstore.dto.CreateReviewRequest;
 import com.music.musicstore.dto.ErrorResponse;
+import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.models.music.Music;
 import com.music.musicstore.models.users.Customer;
 import com.music.musicstore.models.support.Ticket;
 import com.music.musicstore.services.CartService;
+import com.music.musicstore.services.MediaRegistry;
 import com.music.musicstore.services.OrderService;
 import com.music.musicstore.services.MusicService;
 import com.music.musicstore.services.ReviewService;
@@ -23,23 +25,16 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.URLConnection;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.NoSuchFileException;
 import java.util.Set;
 import java.util.Map;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/customer")
@@ -58,6 +53,9 @@ public class CustomerApiController {
     @Autowired
     private MusicService musicService;
 
+    @Autowired
+    private MediaRegistry mediaRegistry;
+
     @Autowired
     private ReviewService reviewService;
 
@@ -250,146 +248,24 @@ public class CustomerApiController {
     @GetMapping("/download/{musicId}")
     public ResponseEntity<?> downloadMusic(@PathVariable Long musicId,
                                            @AuthenticationPrincipal Customer customer,
+                                           HttpServletRequest servletRequest,
                                            HttpServletResponse servletResponse) {
-        try {
-            if (musicId == null) {
-                return ResponseEntity.badRequest().body(new ErrorResponse("musicId is required"));
-            }
-
-            // Verify customer purchased this music
-            boolean hasPurchased = customerRepository.hasPurchasedMusic(customer.getId(), musicId);
-            if (!hasPurchased) {
-                return ResponseEntity.status(403)
-                        .body(new ErrorResponse("Access denied: you must purchase this track to download it"));
-            }
-
-            // Load music metadata
-            var optMusic = musicService.getMusicById(musicId);
-            if (optMusic.isEmpty()) {
-                return ResponseEntity.badRequest().body(new ErrorResponse("Music not found"));
-            }
-            Music music = optMusic.get();
-
-            String audioPathStr = music.getAudioFilePath();
-            String originalFileName = music.getOriginalFileName();
-            if (originalFileName == null || originalFileName.isBlank()) {
-                // fallback to a sanitized music name
-                originalFileName = music.getName().replaceAll("[^a-zA-Z0-9._-]", "_") + ".mp3";
-            }
-
-            Path filePath = null;
-            // Try a few likely locations
-            if (audioPathStr != null && !audioPathStr.isBlank()) {
-                Path p = Paths.get(audioPathStr);
-                if (Files.exists(p) && Files.isRegularFile(p)) {
-                    filePath = p;
-                }
-            }
-
-            // Normalize audio filename for relative lookups (handle leading slashes)
-            String audioFileName = null;
-            if (audioPathStr != null && !audioPathStr.isBlank()) {
-                try {
-                    Path ap = Paths.get(audioPathStr);
-                    // prefer the file name portion for resolving into resource folders
-                    audioFileName = ap.getFileName() != null ? ap.getFileName().toString() : audioPathStr;
-                } catch (Exception ex) {
-                    audioFileName = audioPathStr;
-                }
-            }
-
-            if (filePath == null) {
-                // check resource folder (source)
-                Path p2 = Paths.get("src/main/resources/static/uploads/music").resolve(audioFileName != null ? audioFileName : originalFileName);
-                if (Files.exists(p2) && Files.isRegularFile(p2)) {
-                    filePath = p2;
-                }
-            }
-
-            if (filePath == null) {
-                // check built classes resources
-                Path p3 = Paths.get("target/classes/static/uploads/music").resolve(audioFileName != null ? audioFileName : originalFileName);
-                if (Files.exists(p3) && Files.isRegularFile(p3)) {
-                    filePath = p3;
-                }
-            }
-
-            if (filePath == null) {
-                // check uploads folder configured at runtime
-                Path p4 = Paths.get("./uploads/music").resolve(audioFileName != null ? audioFileName : originalFileName);
-                if (Files.exists(p4) && Files.isRegularFile(p4)) {
-                    filePath = p4;
-                }
-            }
-
-            if (filePath == null) {
-                logger.warn("Audio file not found for music id {} (audioFilePath='{}')", musicId, audioPathStr);
-                // Attempt to load from classpath (inside jar) at static/uploads/music/<filename>
-                if (audioFileName != null) {
-                    String classpathLocation = "/static/uploads/music/" + audioFileName;
-                    try (InputStream resourceStream = CustomerApiController.class.getResourceAsStream(classpathLocation)) {
-                        if (resourceStream != null) {
-                            // Stream classpath resource directly to servlet response
-                            servletResponse.setContentType("audio/mpeg");
-                            servletResponse.setHeader("Content-Disposition", "attachment; filename=\"" + (originalFileName != null ? originalFileName : audioFileName) + "\"");
-                            try (InputStream in = CustomerApiController.class.getResourceAsStream(classpathLocation); OutputStream out = servletResponse.getOutputStream()) {
-                                byte[] buffer = new byte[8192];
-                                int bytesRead;
-                                while ((bytesRead = in.read(buffer)) != -1) {
-                                    out.write(buffer, 0, bytesRead);
-                                }
-                                out.flush();
-                            }
-                            return ResponseEntity.ok().build();
-                        }
-                    }
-                }
-                return ResponseEntity.badRequest().body(new ErrorResponse("Audio file not found"));
-            }
-
-            // Ensure it's an mp3
-            String fileNameLower = filePath.getFileName().toString().toLowerCase();
-            String contentType = URLConnection.guessContentTypeFromName(fileNameLower);
-            if (contentType == null) {
-                contentType = Files.probeContentType(filePath);
-            }
-            if (contentType == null) {
-                // fallback
-                contentType = "application/octet-stream";
-            }
-
-            if (!fileNameLower.endsWith(".mp3") && !"audio/mpeg".equalsIgnoreCase(contentType)) {
-                logger.warn("Blocked download - file is not MP3: {} (detected contentType={})", filePath, contentType);
-                return ResponseEntity.badRequest().body(new ErrorResponse("Requested file is not an MP3"));
-            }
-
-            // Stream file directly to servlet response to avoid converter issues
-            servletResponse.setContentType("audio/mpeg");
-            servletResponse.setHeader("Content-Disposition", "attachment; filename=\"" + originalFileName + "\"");
-            servletResponse.setContentLengthLong(Files.size(filePath));
-
-            try (InputStream in = Files.newInputStream(filePath); OutputStream out = servletResponse.getOutputStream()) {
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                while ((bytesRead = in.read(buffer)) != -1) {
-                    out.write(buffer, 0, bytesRead);
-                }
-                out.flush();
-            }
-
-            // Response already committed with the streamed bytes
-            return ResponseEntity.ok().build();
-
-        } catch (Exception e) {
-            logger.error("Error while preparing download for musicId {}: {}", musicId, e.getMessage(), e);
-            return ResponseEntity.internalServerError()
-                    .body(new ErrorResponse("Failed to prepare download: " + e.getMessage()));
-        }
+        return serveDownload(musicId, customer, servletRequest, servletResponse, false);
     }
 
     @RequestMapping(value = "/download/{musicId}", method = RequestMethod.HEAD)
     public ResponseEntity<?> downloadMusicHead(@PathVariable Long musicId,
-                                               @AuthenticationPrincipal Customer customer) {
+                                               @AuthenticationPrincipal Customer customer,
+                                               HttpServletRequest servletRequest,
+                                               HttpServletResponse servletResponse) {
+        return serveDownload(musicId, customer, servletRequest, servletResponse, true);
+    }
+
+    // Shared by GET and HEAD: same checks and headers, HEAD just skips the body.
+    // Returns null once the response has been written directly. Errors reset the response first, since
+    // MediaDownloads may already have set Content-Range/Content-Length/206 for the file.
+    private ResponseEntity<?> serveDownload(Long musicId, Customer customer, HttpServletRequest servletRequest,
+                                            HttpServletResponse servletResponse, boolean headOnly) {
         try {
             if (musicId == null) {
                 return ResponseEntity.badRequest().body(new ErrorResponse("musicId is required"));
@@ -406,77 +282,58 @@ public class CustomerApiController {
             if (optMusic.isEmpty()) {
                 return ResponseEntity.status(404).body(new ErrorResponse("Music not found"));
             }
-            Music music = optMusic.get();
-
-            String audioPathStr = music.getAudioFilePath();
-            String originalFileName = music.getOriginalFileName();
-            if (originalFileName == null || originalFileName.isBlank()) {
-                originalFileName = music.getName().replaceAll("[^a-zA-Z0-9._-]", "_") + ".mp3";
-            }
-
-            Path filePath = null;
-            if (audioPathStr != null && !audioPathStr.isBlank()) {
-                Path p = Paths.get(audioPathStr);
-                if (Files.exists(p) && Files.isRegularFile(p)) {
-                    filePath = p;
-                }
-            }
-
-            String audioFileName = null;
-            if (audioPathStr != null && !audioPathStr.isBlank()) {
-                try {
-                    Path ap = Paths.get(audioPathStr);
-                    audioFileName = ap.getFileName() != null ? ap.getFileName().toString() : audioPathStr;
-                } catch (Exception ex) {
-                    audioFileName = audioPathStr;
-                }
-            }
-
-            if (filePath == null) {
-                Path p2 = Paths.get("src/main/resources/static/uploads/music").resolve(audioFileName != null ? audioFileName : originalFileName);
-                if (Files.exists(p2) && Files.isRegularFile(p2)) {
-                    filePath = p2;
-                }
-            }
-
-            if (filePath == null) {
-                Path p3 = Paths.get("target/classes/static/uploads/music").resolve(audioFileName != null ? audioFileName : originalFileName);
-                if (Files.exists(p3) && Files.isRegularFile(p3)) {
-                    filePath = p3;
-                }
-            }
 
-            if (filePath == null) {
-                Path p4 = Paths.get("./uploads/music").resolve(audioFileName != null ? audioFileName : originalFileName);
-                if (Files.exists(p4) && Files.isRegularFile(p4)) {
-                    filePath = p4;
-                }
+            MediaDownloads.Target target = resolveAudio(optMusic.get());
+            if (target == null) {
+                logger.warn("Audio file not found for music id {} (audioFilePath='{}')", musicId,
+                        optMusic.get().getAudioFilePath());
+                return ResponseEntity.status(404).body(new ErrorResponse("Audio file not found"));
             }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("audio/mpeg"));
-
-            if (filePath != null) {
-                headers.setContentLength(Files.size(filePath));
-                headers.setContentDispositionFormData("attachment", originalFileName);
-                return ResponseEntity.ok().headers(headers).build();
+            MediaDownloads.write(servletRequest, servletResponse, target, headOnly);
+            return null;
+        } catch (NoSuchFileException e) {
+            // Removed from disk behind the registry's back; forget it so the next request probes again
+            mediaRegistry.unregister(MediaRegistry.fileName(e.getFile()));
+            servletResponse.reset();
+            return ResponseEntity.status(404).body(new ErrorResponse("Audio file not found"));
+        } catch (ValidationException e) {
+            servletResponse.reset();
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            if (servletResponse.isCommitted()) {
+                // Usually the client hanging up mid-transfer (a player seeking elsewhere)
+                logger.debug("Download of music {} ended early: {}", musicId, e.getMessage());
+                return null;
             }
+            logger.error("Error while preparing download for musicId {}: {}", musicId, e.getMessage(), e);
+            servletResponse.reset();
+            return ResponseEntity.internalServerError()
+                    .body(new ErrorResponse("Failed to prepare download: " + e.getMessage()));
+        }
+    }
 
-            // Try classpath
-            if (audioFileName != null) {
-                String classpathLocation = "/static/uploads/music/" + audioFileName;
-                var resourceStream = CustomerApiController.class.getResourceAsStream(classpathLocation);
-                if (resourceStream != null) {
-                    headers.setContentDispositionFormData("attachment", originalFileName);
-                    return ResponseEntity.ok().headers(headers).build();
-                }
-            }
+    /**
+     * The track's audio from the media registry (no filesystem probing). Null when it is not
+     * stored anywhere; a ValidationException when the file is not an MP3.
+     */
+    private MediaDownloads.Target resolveAudio(Music music) {
+        String originalFileName = music.getOriginalFileName();
+        if (originalFileName == null || originalFileName.isBlank()) {
+            // fallback to a sanitized music name
+            originalFileName = music.getName().replaceAll("[^a-zA-Z0-9._-]", "_") + ".mp3";
+        }
 
-            return ResponseEntity.status(404).body(new ErrorResponse("Audio file not found"));
-        } catch (Exception e) {
-            logger.error("Error during HEAD for download {}: {}", musicId, e.getMessage(), e);
-            return ResponseEntity.internalServerError().body(new ErrorResponse("Failed to check download: " + e.getMessage()));
+        String storedPath = music.getAudioFilePath();
+        MediaRegistry.Entry entry = mediaRegistry.find(storedPath != null && !storedPath.isBlank() ? storedPath : originalFileName);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.getName().toLowerCase().endsWith(".mp3") && !"audio/mpeg".equalsIgnoreCase(entry.getContentType())) {
+            logger.warn("Blocked download - file is not MP3: {} (detected contentType={})", entry.getName(), entry.getContentType());
+            throw new ValidationException("Requested file is not an MP3");
         }
+        return MediaDownloads.Target.of(entry, "audio/mpeg", originalFileName);
     }
 
     // Define SuccessResponse for consistent JSON responses
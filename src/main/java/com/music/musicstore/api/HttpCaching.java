@@ -0,0 +1,45 @@
+package com.music.musicstore.api;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Conditional GET helpers for the public catalog endpoints. Responses carry a strong ETag and
+ * may be stored by shared caches, which must revalidate before reuse (a cheap 304).
+ */
+final class HttpCaching {
+
+    static final CacheControl CATALOG = CacheControl.noCache().cachePublic();
+
+    private HttpCaching() {}
+
+    /**
+     * True when If-None-Match lists the current ETag (or is "*"); weak comparison per RFC 9110
+     */
+    static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModifiedResponse(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CATALOG).build();
+    }
+
+    static ResponseEntity.BodyBuilder ok(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CATALOG);
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
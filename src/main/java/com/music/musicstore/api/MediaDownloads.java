@@ -0,0 +1,312 @@
+package com.music.musicstore.api;
+
+import com.music.musicstore.services.MediaRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Range-aware media responses (RFC 9110 section 14): the whole file, one range (206) or several
+ * (206 multipart/byteranges), honouring If-Range. File bodies go out through Tomcat's sendfile
+ * when the connector offers it and through FileChannel.transferTo otherwise, so there is no
+ * application-level copy loop; resources packaged in the jar are copied through a small buffer.
+ * GET and HEAD share the header path.
+ */
+final class MediaDownloads {
+
+    // More ranges than this (after merging) is not a player seeking; answer with the whole file
+    private static final int MAX_RANGES = 16;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private MediaDownloads() {}
+
+    /**
+     * What is being served: a file on disk, or a resource packaged in the jar, with the size and
+     * mtime the media registry recorded
+     */
+    static final class Target {
+        final Path file;
+        final URL resource;
+        final long length;
+        final long lastModified;
+        final String contentType;
+        final String fileName;
+
+        private Target(Path file, URL resource, long length, long lastModified, String contentType, String fileName) {
+            this.file = file;
+            this.resource = resource;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+            this.fileName = fileName;
+        }
+
+        static Target of(MediaRegistry.Entry entry, String contentType, String fileName) {
+            return new Target(entry.getPath(), entry.getResource(), entry.getSize(), entry.getLastModified(),
+                    contentType, fileName);
+        }
+
+        String etag() {
+            return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+    }
+
+    /**
+     * Writes the status, headers and (unless headOnly) the body for the request's Range
+     */
+    static void write(HttpServletRequest request, HttpServletResponse response, Target target, boolean headOnly)
+            throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, target.etag());
+        if (target.lastModified > 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, target.lastModified);
+        }
+        // filename* only when needed; browsers show the encoded form of a plain filename otherwise
+        ContentDisposition.Builder disposition = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder().canEncode(target.fileName)) {
+            disposition.filename(target.fileName);
+        } else {
+            disposition.filename(target.fileName, StandardCharsets.UTF_8);
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString());
+
+        List<long[]> ranges = rangesFor(request, target);
+        if (ranges != null && ranges.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + target.length);
+            response.setContentLengthLong(0);
+            return;
+        }
+
+        if (ranges == null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(target.contentType);
+            response.setContentLengthLong(target.length);
+            if (!headOnly) {
+                writeSingle(request, response, target, 0, target.length);
+            }
+        } else if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(target.contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, target.length));
+            response.setContentLengthLong(range[1] - range[0]);
+            if (!headOnly) {
+                writeSingle(request, response, target, range[0], range[1]);
+            }
+        } else {
+            writeMultipart(response, target, ranges, headOnly);
+        }
+    }
+
+    /**
+     * The byte ranges to send as [start, end) pairs: null for the whole file (no usable Range, or
+     * If-Range no longer matches), empty when none of the ranges can be satisfied
+     */
+    static List<long[]> rangesFor(HttpServletRequest request, Target target) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !ifRangeMatches(request, target)) {
+            return null;
+        }
+        return parseRanges(header, target.length);
+    }
+
+    static List<long[]> parseRanges(String header, long length) {
+        String value = header.trim();
+        if (!value.regionMatches(true, 0, "bytes=", 0, 6)) {
+            // Unknown range unit: ignore the header
+            return null;
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for (String spec : value.substring(6).split(",")) {
+            String part = spec.trim();
+            int dash = part.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            String first = part.substring(0, dash).trim();
+            String last = part.substring(dash + 1).trim();
+            long start;
+            long end;
+            try {
+                if (first.isEmpty()) {
+                    // Suffix range: the final N bytes
+                    long suffix = Long.parseLong(last);
+                    if (suffix <= 0) {
+                        continue;
+                    }
+                    start = Math.max(0, length - suffix);
+                    end = length;
+                } else {
+                    start = Long.parseLong(first);
+                    long lastByte = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                    if (lastByte < start && !last.isEmpty()) {
+                        // last < first is a syntax error, which invalidates the whole header
+                        return null;
+                    }
+                    end = Math.min(length - 1, lastByte) + 1;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (start < length && start < end) {
+                ranges.add(new long[]{start, end});
+            }
+        }
+        return merge(ranges);
+    }
+
+    // Overlapping or adjacent ranges are sent as one part
+    private static List<long[]> merge(List<long[]> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> merged = new ArrayList<>();
+        long[] current = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            long[] next = ranges.get(i);
+            if (next[0] <= current[1]) {
+                current = new long[]{current[0], Math.max(current[1], next[1])};
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return merged.size() > MAX_RANGES ? null : merged;
+    }
+
+    // If-Range holds a strong ETag or an HTTP date; anything else means "send it all"
+    private static boolean ifRangeMatches(HttpServletRequest request, Target target) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(target.etag());
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return target.lastModified > 0 && date == target.lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void writeSingle(HttpServletRequest request, HttpServletResponse response, Target target,
+                                    long start, long end) throws IOException {
+        if (target.file != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, target.file.toAbsolutePath().normalize().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        if (target.file != null) {
+            try (FileChannel channel = FileChannel.open(target.file, StandardOpenOption.READ)) {
+                transfer(channel, start, end, Channels.newChannel(out));
+            }
+        } else {
+            copyResource(target, start, end, out);
+        }
+        out.flush();
+    }
+
+    private static void writeMultipart(HttpServletResponse response, Target target, List<long[]> ranges,
+                                       boolean headOnly) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] head = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + target.contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, target.length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(head);
+            contentLength += head.length + (range[1] - range[0]);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (headOnly) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (target.file != null) {
+            try (FileChannel channel = FileChannel.open(target.file, StandardOpenOption.READ)) {
+                WritableByteChannel sink = Channels.newChannel(out);
+                for (int i = 0; i < ranges.size(); i++) {
+                    out.write(partHeaders.get(i));
+                    transfer(channel, ranges.get(i)[0], ranges.get(i)[1], sink);
+                }
+            }
+        } else {
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                copyResource(target, ranges.get(i)[0], ranges.get(i)[1], out);
+            }
+        }
+        out.write(closing);
+        out.flush();
+    }
+
+    private static void transfer(FileChannel channel, long start, long end, WritableByteChannel sink) throws IOException {
+        long position = start;
+        while (position < end) {
+            long sent = channel.transferTo(position, end - position, sink);
+            if (sent <= 0) {
+                throw new IOException("File shrank while it was being sent");
+            }
+            position += sent;
+        }
+    }
+
+    // Packaged resources have no channel; skip to the range and copy it
+    private static void copyResource(Target target, long start, long end, OutputStream out) throws IOException {
+        try (InputStream in = target.resource.openStream()) {
+            in.skipNBytes(start);
+            byte[] buffer = new byte[8192];
+            long remaining = end - start;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new IOException("Resource shrank while it was being sent");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private static String contentRange(long[] range, long length) {
+        return "bytes " + range[0] + "-" + (range[1] - 1) + "/" + length;
+    }
+}
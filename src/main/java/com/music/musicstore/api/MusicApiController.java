@@ -1,16 +1,25 @@
 package com.music.musicstore.api;
 
+import com.music.musicstore.dto.CatalogMapper;
+import com.music.musicstore.dto.DirectoryEntry;
 import com.music.musicstore.dto.MusicDto;
+import com.music.musicstore.dto.SearchHit;
+import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.models.music.Music;
 import com.music.musicstore.models.users.Customer;
+import com.music.musicstore.services.CatalogDirectory;
+import com.music.musicstore.services.CatalogRailsService;
+import com.music.musicstore.services.CatalogVersions;
+import com.music.musicstore.services.MusicFacetIndex;
 import com.music.musicstore.services.MusicService;
+import com.music.musicstore.services.MusicSuggestionIndex;
 import com.music.musicstore.services.CustomerService;
 import com.music.musicstore.services.FileStorageService;
+import com.music.musicstore.services.FullTextSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -43,70 +52,200 @@ public class MusicApiController {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private FullTextSearchService fullTextSearchService;
+
+    @Autowired
+    private MusicSuggestionIndex suggestionIndex;
+
+    @Autowired
+    private MusicFacetIndex facetIndex;
+
+    @Autowired
+    private CatalogRailsService railsService;
+
+    @Autowired
+    private CatalogDirectory catalogDirectory;
+
+    @Autowired
+    private CatalogMapper catalogMapper;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     @Autowired
     public MusicApiController(MusicService musicService) {
         this.musicService = musicService;
     }
 
     @GetMapping
-    public ResponseEntity<Page<MusicDto>> getAllMusic(
+    public ResponseEntity<?> getAllMusic(
             @RequestParam(defaultValue = "0", required = false) int page,
             @RequestParam(defaultValue = "50", required = false) int size,
             @RequestParam(defaultValue = "createdAt", required = false) String sortBy,
             @RequestParam(defaultValue = "desc", required = false) String sortDir,
             @RequestParam(required = false) String genre,
             @RequestParam(required = false) String artist,
-            @RequestParam(required = false) String search) {
-
-        Sort sort = sortDir.equalsIgnoreCase("desc") ?
-            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // Every list page shares the catalog generation, so a repeat poll is answered before any query
+        String etag = catalogVersions.musicListETag();
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag);
+        }
 
-        PageRequest pageRequest = PageRequest.of(page, size, sort);
-        Page<Music> musicPage = musicService.getAllMusicPaginated(page, size);
+        // Any cursor (empty for the first page) switches to keyset pagination
+        if (cursor != null) {
+            if (!"createdAt".equals(sortBy)) {
+                throw new ValidationException("Cursor pagination only supports sortBy=createdAt");
+            }
+            return HttpCaching.ok(etag).body(musicService
+                    .findCatalogByCursor(genre, artist, search, sortDir, cursor, size, includeTotal)
+                    .map(catalogMapper::toMusicListDto));
+        }
 
-        Page<MusicDto> musicDtoPage = musicPage.map(this::convertToDto);
+        Page<MusicDto> musicDtoPage = musicService.findCatalog(genre, artist, search, sortBy, sortDir, page, size)
+                .map(catalogMapper::toMusicListDto);
 
-        return ResponseEntity.ok(musicDtoPage);
+        return HttpCaching.ok(etag).body(musicDtoPage);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<MusicDto>> searchMusic(@RequestParam String query){
         return ResponseEntity.ok(
             musicService.searchMusic(query, 0, 50)
-                .map(this::convertToDto)
+                .map(catalogMapper::toMusicDto)
         );
     }
 
+    // Facet counts (genre, category, year, price and rating buckets) for the selected filters
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> getFacets(
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String price,
+            @RequestParam(required = false) String rating) {
+        Map<String, String> filters = new HashMap<>();
+        if (genre != null && !genre.isBlank()) filters.put(MusicFacetIndex.GENRE, genre.trim());
+        if (category != null && !category.isBlank()) filters.put(MusicFacetIndex.CATEGORY, category.trim());
+        if (year != null) filters.put(MusicFacetIndex.YEAR, year.toString());
+        if (price != null && !price.isBlank()) filters.put(MusicFacetIndex.PRICE, price.trim());
+        if (rating != null && !rating.isBlank()) filters.put(MusicFacetIndex.RATING, rating.trim());
+        return ResponseEntity.ok(facetIndex.facetCounts(filters));
+    }
+
+    // Typeahead for the search box: titles, artists and albums completing the prefix, from memory
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MusicSuggestionIndex.Suggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(suggestionIndex.suggest(prefix, Math.min(limit, MusicSuggestionIndex.TOP_K)));
+    }
+
+    // Relevance-ranked search with highlighted snippets; requires search.backend=postgres
+    @GetMapping("/search/ranked")
+    public ResponseEntity<Page<SearchHit<MusicDto>>> searchMusicRanked(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(
+            fullTextSearchService.searchMusic(query, page, size)
+                .map(hit -> hit.map(catalogMapper::toMusicDto))
+        );
+    }
+
+    // Several tracks in one call, e.g. /batch?ids=3,1,2 (request order, unknown ids left out)
+    @GetMapping("/batch")
+    public ResponseEntity<List<MusicDto>> getMusicBatch(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(musicService.getMusicByIds(ids).stream()
+                .map(catalogMapper::toMusicDto)
+                .collect(Collectors.toList()));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<MusicDto> getMusicById(@PathVariable Long id) {
+    public ResponseEntity<MusicDto> getMusicById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Unknown ids are a 404 whatever the client sends; the validator comes from the row itself
         Optional<Music> music = musicService.getMusicById(id);
-        return music.map(value -> ResponseEntity.ok(convertToDto(value))).orElseGet(() -> ResponseEntity.notFound().build());
+        if (music.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = catalogVersions.musicETag(music.get());
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag);
+        }
+        return HttpCaching.ok(etag).body(catalogMapper.toMusicDto(music.get()));
     }
 
     @GetMapping("/genres")
     public ResponseEntity<List<String>> getAllGenres() {
-        // Return hardcoded genres for now - can be made dynamic later
-        List<String> genres = List.of("Pop", "Rock", "Jazz", "Classical", "Electronic", "Hip-Hop", "Country", "Blues");
-        return ResponseEntity.ok(genres);
+        return ResponseEntity.ok(catalogDirectory.names(CatalogDirectory.GENRES));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<String>> getAllCategories() {
+        return ResponseEntity.ok(catalogDirectory.names(CatalogDirectory.CATEGORIES));
     }
 
     @GetMapping("/artists")
     public ResponseEntity<List<String>> getAllArtists() {
-        // Return hardcoded artists for now - can be made dynamic later
-        List<String> artists = List.of("Artist A", "Artist B", "Artist C", "Sample Artist");
-        return ResponseEntity.ok(artists);
+        return ResponseEntity.ok(catalogDirectory.names(CatalogDirectory.ARTISTS));
+    }
+
+    // Paginated genres, categories or artists with track counts, e.g. /directory/artists?prefix=a&sort=count
+    @GetMapping("/directory/{directory}")
+    public ResponseEntity<Page<DirectoryEntry>> getDirectory(
+            @PathVariable String directory,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (!CatalogDirectory.GENRES.equals(directory) && !CatalogDirectory.CATEGORIES.equals(directory)
+                && !CatalogDirectory.ARTISTS.equals(directory)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(catalogDirectory.page(directory, prefix, sort, page, size));
     }
 
     @GetMapping("/featured")
     public ResponseEntity<List<MusicDto>> getFeaturedMusic() {
-        // Get first 8 music tracks as featured
-        Page<Music> featuredMusic = musicService.getAllMusicPaginated(0, 8);
-        List<MusicDto> featuredMusicDto = featuredMusic.getContent().stream()
-                .map(this::convertToDto)
+        // Served from the precomputed rail; first 8 tracks until it has been built
+        List<Music> featuredMusic = railsService.getRail(CatalogRailsService.Rail.FEATURED);
+        if (featuredMusic.isEmpty()) {
+            featuredMusic = musicService.getAllMusicPaginated(0, 8).getContent();
+        }
+        List<MusicDto> featuredMusicDto = featuredMusic.stream()
+                .map(catalogMapper::toMusicDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(featuredMusicDto);
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<List<MusicDto>> getTrendingMusic() {
+        return ResponseEntity.ok(railDtos(CatalogRailsService.Rail.TRENDING));
+    }
+
+    @GetMapping("/new-releases")
+    public ResponseEntity<List<MusicDto>> getNewReleases() {
+        return ResponseEntity.ok(railDtos(CatalogRailsService.Rail.NEW_RELEASES));
+    }
+
+    @GetMapping("/top-rated")
+    public ResponseEntity<List<MusicDto>> getTopRatedMusic() {
+        return ResponseEntity.ok(railDtos(CatalogRailsService.Rail.TOP_RATED));
+    }
+
+    private List<MusicDto> railDtos(CatalogRailsService.Rail rail) {
+        return railsService.getRail(rail).stream()
+                .map(catalogMapper::toMusicDto)
+                .collect(Collectors.toList());
+    }
+
     @PostMapping("/upload")
     public ResponseEntity<MusicDto> uploadMusic(
             @RequestParam("file") MultipartFile file,
@@ -140,7 +279,7 @@ public class MusicApiController {
             music.setOriginalFileName(file.getOriginalFilename());
 
             // Save the music and return it
-            return ResponseEntity.ok(convertToDto(musicService.saveMusic(music)));
+            return ResponseEntity.ok(catalogMapper.toMusicDto(musicService.saveMusic(music)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -152,8 +291,8 @@ public class MusicApiController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size) {
         try {
-            Page<Music> musicPage = musicService.getMusicByArtistPaginated(artistUsername, page, size);
-            Page<MusicDto> musicDtoPage = musicPage.map(this::convertToDto);
+            Page<MusicDto> musicDtoPage = musicService.getMusicSummariesByArtist(artistUsername, page, size)
+                    .map(catalogMapper::toMusicListDto);
             return ResponseEntity.ok(musicDtoPage);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -218,23 +357,4 @@ public class MusicApiController {
         public String getReason() { return reason; }
         public void setReason(String reason) { this.reason = reason; }
     }
-
-    private MusicDto convertToDto(Music music) {
-        return new MusicDto(
-                music.getId(),
-                music.getName(),
-                music.getDescription(),
-                music.getPrice(),
-                music.getImageUrl(),
-                music.getAudioFilePath(),
-                music.getCategory(),
-                music.getArtistUsername() != null ? music.getArtistUsername() : "Unknown Artist",
-                music.getAlbumName() != null ? music.getAlbumName() : "Unknown Album",
-                music.getGenre(),
-                music.getReleaseYear(),
-                music.getCreatedAt(),
-                music.getAverageRating() != null ? music.getAverageRating().doubleValue() : 0.0,
-                music.getTotalReviews()
-        );
-    }
 }
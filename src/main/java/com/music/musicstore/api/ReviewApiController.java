@@ -4,11 +4,13 @@ import com.music.musicstore.dto.CreateReviewRequest;
 import com.music.musicstore.dto.ReviewDto;
 import com.music.musicstore.models.music.Review;
 import com.music.musicstore.models.users.Customer;
+import com.music.musicstore.services.CatalogVersions;
 import com.music.musicstore.services.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -22,10 +24,12 @@ import java.util.Optional;
 public class ReviewApiController {
 
     private final ReviewService reviewService;
+    private final CatalogVersions catalogVersions;
 
     @Autowired
-    public ReviewApiController(ReviewService reviewService) {
+    public ReviewApiController(ReviewService reviewService, CatalogVersions catalogVersions) {
         this.reviewService = reviewService;
+        this.catalogVersions = catalogVersions;
     }
 
     @PostMapping("/music/{musicId}")
@@ -110,10 +114,21 @@ public class ReviewApiController {
     }
 
     @GetMapping("/music/{musicId}/stats")
-    public ResponseEntity<Map<String, Object>> getReviewStats(@PathVariable Long musicId) {
+    public ResponseEntity<Map<String, Object>> getReviewStats(
+            @PathVariable Long musicId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Every review write updates the track's rating and updatedAt, which moves its ETag
+        Optional<String> version = catalogVersions.musicETag(musicId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = version.get();
+        if (HttpCaching.notModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModifiedResponse(etag);
+        }
         try {
             Map<String, Object> stats = reviewService.getReviewStats(musicId);
-            return ResponseEntity.ok(stats);
+            return HttpCaching.ok(etag).body(stats);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
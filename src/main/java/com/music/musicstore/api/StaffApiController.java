@@ -213,4 +213,11 @@ public class StaffApiController {
                 .body(new ErrorResponse("Failed to search tickets: " + e.getMessage()));
         }
     }
+
+    // Relevance-ranked ticket search with message snippets; requires search.backend=postgres
+    @GetMapping("/tickets/search/ranked")
+    public ResponseEntity<?> searchTicketsRanked(@RequestParam String query,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(ticketService.searchTicketsRanked(query, limit));
+    }
 }
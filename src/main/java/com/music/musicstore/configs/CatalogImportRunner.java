@@ -0,0 +1,66 @@
+package com.music.musicstore.configs;
+
+import com.music.musicstore.dto.MusicImportReport;
+import com.music.musicstore.services.MusicExportService;
+import com.music.musicstore.services.MusicImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line bulk import, for back catalogs too large for an upload:
+ * {@code java -jar music-store.jar --catalog-import.file=catalog.csv --catalog-import.exit=true}.
+ * With exit=true the application stops afterwards (exit code 1 when any row failed).
+ */
+@Configuration
+@ConditionalOnProperty("catalog-import.file")
+public class CatalogImportRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportRunner.class);
+
+    // After the seed runners, so their artists exist
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    CommandLineRunner importCatalogFile(
+            MusicImportService musicImportService,
+            ConfigurableApplicationContext applicationContext,
+            @Value("${catalog-import.file}") String file,
+            @Value("${catalog-import.format:}") String format,
+            @Value("${catalog-import.exit:false}") boolean exit
+    ) {
+        return args -> {
+            Path path = Path.of(file);
+            MusicExportService.Format importFormat = format.isBlank()
+                    ? MusicExportService.Format.forFileName(path.getFileName().toString())
+                    : MusicExportService.Format.parse(format);
+
+            logger.info("Importing catalog from {} as {}", path, importFormat);
+            MusicImportReport report;
+            try (InputStream input = Files.newInputStream(path)) {
+                report = musicImportService.importMusic(importFormat, input);
+            }
+            for (MusicImportReport.RowError error : report.getErrors()) {
+                logger.warn("Row {}: {}", error.getRow(), error.getMessage());
+            }
+            if (report.isErrorsTruncated()) {
+                logger.warn("Further row errors omitted");
+            }
+
+            if (exit) {
+                int code = report.getFailed() > 0 ? 1 : 0;
+                System.exit(SpringApplication.exit(applicationContext, () -> code));
+            }
+        };
+    }
+}
@@ -1,11 +1,13 @@
 package com.music.musicstore.configs;
 
 import com.music.musicstore.services.CombinedUserDetailsService;
+import com.music.musicstore.services.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,28 +26,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CombinedUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // When enabled, the principal is built from token claims and the users tables are not queried
+    @Value("${jwt.stateless-auth.enabled:false}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                   FilterChain filterChain) throws ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        VerifiedToken token = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Parse and verify once; subject, role and expiry all come from this result
+                token = jwtUtil.verify(jwt);
             } catch (Exception e) {
                 logger.error("JWT token extraction failed", e);
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (token != null && token.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = null;
+
+            if (statelessAuth && token.hasIdentityClaims()) {
+                if (token.isEnabled() && !tokenRevocationService.isRevoked(token)) {
+                    userDetails = TokenUserDetails.from(token);
+                }
+            } else if (!tokenRevocationService.isRevoked(token)) {
+                // Tokens without identity claims (issued before stateless mode) still go through the DB
+                userDetails = this.userDetailsService.loadUserByUsername(token.getSubject());
+            }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null && jwtUtil.validateToken(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,17 +1,29 @@
 package com.music.musicstore.configs;
 
+import com.music.musicstore.models.users.Admin;
+import com.music.musicstore.models.users.Artist;
+import com.music.musicstore.models.users.Customer;
+import com.music.musicstore.models.users.Staff;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
@@ -20,51 +32,92 @@ public class JwtUtil {
     @Value("${jwt.secret:AsCbibFzH8thaWH+aqQPwyvuGZuv/EkUfQZHLkl81KU}")
     private String secret;
 
-    @Value("${jwt.expiration:86400000}")
+    @Value("${jwt.expiration:900000}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.verification-cache-size:10000}")
+    private int verificationCacheSize;
+
+    // Built once at startup; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Recently verified tokens keyed by SHA-256 digest, so repeat tokens skip the HMAC check
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Throws a JwtException if the token is malformed, tampered with or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.remove(digest);
+        }
+
+        VerifiedToken verified = new VerifiedToken(extractAllClaims(token));
+        if (verificationCacheSize > 0) {
+            if (verifiedTokens.size() >= verificationCacheSize) {
+                evictVerifiedTokens();
+            }
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return verify(token).getRole();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", userDetails.getAuthorities().iterator().next().getAuthority());
-        return createToken(claims, userDetails.getUsername());
+        return generateTokenWithRole(userDetails, userDetails.getAuthorities().iterator().next().getAuthority());
     }
 
     public String generateTokenWithRole(UserDetails userDetails, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
+        // Identity claims let JwtAuthenticationFilter build the principal without loading the user
+        Long userId = resolveUserId(userDetails);
+        if (userId != null) {
+            claims.put("uid", userId);
+        }
+        claims.put("enabled", userDetails.isEnabled());
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -72,14 +125,51 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                // jti lets a single token be revoked (logout) without touching the user's other sessions
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject() != null
+                && token.getSubject().equals(userDetails.getUsername())
+                && !token.isExpired();
+    }
+
+    private static Long resolveUserId(UserDetails userDetails) {
+        if (userDetails instanceof Customer customer) {
+            return customer.getId();
+        } else if (userDetails instanceof Artist artist) {
+            return artist.getId();
+        } else if (userDetails instanceof Staff staff) {
+            return staff.getId();
+        } else if (userDetails instanceof Admin admin) {
+            return admin.getId();
+        } else if (userDetails instanceof TokenUserDetails tokenUser) {
+            return tokenUser.getId();
+        }
+        return null;
+    }
+
+    private void evictVerifiedTokens() {
+        // Drop expired entries first; if the cache is still full, start over rather than track recency
+        verifiedTokens.values().removeIf(VerifiedToken::isExpired);
+        if (verifiedTokens.size() >= verificationCacheSize) {
+            verifiedTokens.clear();
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
     }
 }
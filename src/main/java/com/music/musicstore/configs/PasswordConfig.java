@@ -1,14 +1,29 @@
 package com.music.musicstore.configs;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordConfig {
+    // Registration, password changes and seeding hash on the caller's thread
     @Bean
+    @Primary
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    // Only the login check goes through the bounded pool, so shedding a login storm never rejects a sign-up
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder loginPasswordEncoder(
+            @Value("${password-hashing.threads:0}") int threads,
+            @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${password-hashing.timeout-ms:5000}") long timeoutMillis) {
+        // BCrypt is CPU bound, so by default use one thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(passwordEncoder(), poolSize, queueCapacity, timeoutMillis);
+    }
 }
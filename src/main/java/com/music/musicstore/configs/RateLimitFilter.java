@@ -0,0 +1,77 @@
+package com.music.musicstore.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-client-IP rate limiting for the public routes, applied before Spring Security
+ * so rejected requests never reach authentication or the database
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitRegistry rateLimitRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights are cheap and must not eat the client's budget
+        return !rateLimitRegistry.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long waitMillis = rateLimitRegistry.acquireForClient(request.getRequestURI(), clientIp(request));
+        if (waitMillis > 0) {
+            reject(response, waitMillis);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (rateLimitRegistry.isTrustForwardedFor()) {
+            String forwarded = forwardedClient(request.getHeader("X-Forwarded-For"), rateLimitRegistry.getTrustedProxies());
+            if (forwarded != null) {
+                return forwarded;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * The address our own proxies saw. Each proxy appends the peer it received from, so entries
+     * further left than trustedProxies from the right were written by the client and are ignored.
+     */
+    static String forwardedClient(String forwardedFor, int trustedProxies) {
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return null;
+        }
+        String[] hops = forwardedFor.split(",");
+        // Fewer entries than proxies: every entry came from a trusted proxy, so the leftmost is the client
+        String client = hops[Math.max(0, hops.length - Math.max(1, trustedProxies))].trim();
+        return client.isEmpty() ? null : client;
+    }
+
+    private static void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\","
+                + "\"message\":\"Rate limit exceeded, retry in " + retryAfterSeconds + " seconds\","
+                + "\"errorCode\":\"TOO_MANY_REQUESTS\"}");
+    }
+}
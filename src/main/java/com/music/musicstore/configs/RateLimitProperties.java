@@ -0,0 +1,75 @@
+package com.music.musicstore.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route rate limits, e.g.
+ * <pre>
+ * rate-limit.rules[0].pattern=/api/auth/**
+ * rate-limit.rules[0].capacity=20
+ * rate-limit.rules[0].refill-per-second=0.5
+ * </pre>
+ * Patterns are path prefixes ending in {@code /**}, or exact paths. The first matching rule wins.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    // Key on X-Forwarded-For instead of the socket address (only behind a trusted proxy)
+    private boolean trustForwardedFor = false;
+
+    // Proxies we run that append to X-Forwarded-For; the client is this many entries from the right
+    private int trustedProxies = 1;
+
+    // Buckets untouched for this long are full again and can be dropped
+    private long idleTimeoutSeconds = 600;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public static class Rule {
+        private String pattern;
+
+        // Burst size and sustained rate per client IP
+        private int capacity = 60;
+        private double refillPerSecond = 1.0;
+
+        // Optional limit per username (0 = none), applied where the username is known, e.g. login
+        private int accountCapacity = 0;
+        private double accountRefillPerSecond = 0.0;
+
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+
+        public int getAccountCapacity() { return accountCapacity; }
+        public void setAccountCapacity(int accountCapacity) { this.accountCapacity = accountCapacity; }
+
+        public double getAccountRefillPerSecond() { return accountRefillPerSecond; }
+        public void setAccountRefillPerSecond(double accountRefillPerSecond) { this.accountRefillPerSecond = accountRefillPerSecond; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public boolean isTrustForwardedFor() { return trustForwardedFor; }
+    public void setTrustForwardedFor(boolean trustForwardedFor) { this.trustForwardedFor = trustForwardedFor; }
+
+    public int getTrustedProxies() { return trustedProxies; }
+    public void setTrustedProxies(int trustedProxies) { this.trustedProxies = trustedProxies; }
+
+    public long getIdleTimeoutSeconds() { return idleTimeoutSeconds; }
+    public void setIdleTimeoutSeconds(long idleTimeoutSeconds) { this.idleTimeoutSeconds = idleTimeoutSeconds; }
+
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+}
@@ -0,0 +1,157 @@
+package com.music.musicstore.configs;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled rate-limit rules with their per-IP and per-account buckets and counters
+ */
+@Component
+public class RateLimitRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitRegistry.class);
+
+    private final RateLimitProperties properties;
+    private final List<CompiledRule> rules = new ArrayList<>();
+
+    @Autowired
+    public RateLimitRegistry(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void compileRules() {
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (rule.getPattern() == null || rule.getPattern().isBlank()) {
+                continue;
+            }
+            rules.add(new CompiledRule(rule));
+            logger.info("Rate limit for {}: {} burst, {}/s per IP", rule.getPattern(),
+                    rule.getCapacity(), rule.getRefillPerSecond());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !rules.isEmpty();
+    }
+
+    public boolean isTrustForwardedFor() {
+        return properties.isTrustForwardedFor();
+    }
+
+    public int getTrustedProxies() {
+        return properties.getTrustedProxies();
+    }
+
+    /**
+     * @return 0 if the client may proceed, otherwise the milliseconds to wait
+     */
+    public long acquireForClient(String path, String clientIp) {
+        CompiledRule rule = match(path);
+        if (rule == null) {
+            return 0;
+        }
+        long wait = rule.perClient.tryAcquire(clientIp);
+        record(rule, wait);
+        return wait;
+    }
+
+    /**
+     * Per-username limit for routes that know the account, e.g. login. 0 if allowed.
+     */
+    public long acquireForAccount(String path, String username) {
+        CompiledRule rule = match(path);
+        if (rule == null || rule.perAccount == null || username == null) {
+            return 0;
+        }
+        long wait = rule.perAccount.tryAcquire(username);
+        record(rule, wait);
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long idleMillis = properties.getIdleTimeoutSeconds() * 1000;
+        int evicted = 0;
+        for (CompiledRule rule : rules) {
+            evicted += rule.perClient.evictIdle(idleMillis);
+            if (rule.perAccount != null) {
+                evicted += rule.perAccount.evictIdle(idleMillis);
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate-limit buckets", evicted);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (CompiledRule rule : rules) {
+            Map<String, Object> ruleStats = new LinkedHashMap<>();
+            ruleStats.put("allowed", rule.allowed.sum());
+            ruleStats.put("rejected", rule.rejected.sum());
+            ruleStats.put("clientBuckets", rule.perClient.size());
+            ruleStats.put("accountBuckets", rule.perAccount != null ? rule.perAccount.size() : 0);
+            stats.put(rule.pattern, ruleStats);
+        }
+        return stats;
+    }
+
+    private CompiledRule match(String path) {
+        // Plain loop over a handful of prefixes: no allocation per request
+        for (int i = 0; i < rules.size(); i++) {
+            CompiledRule rule = rules.get(i);
+            if (rule.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static void record(CompiledRule rule, long wait) {
+        if (wait == 0) {
+            rule.allowed.increment();
+        } else {
+            rule.rejected.increment();
+        }
+    }
+
+    private static final class CompiledRule {
+        final String pattern;
+        final String prefix;
+        final boolean wildcard;
+        final TokenBucketLimiter perClient;
+        final TokenBucketLimiter perAccount;
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        CompiledRule(RateLimitProperties.Rule rule) {
+            this.pattern = rule.getPattern();
+            this.wildcard = pattern.endsWith("/**");
+            this.prefix = wildcard ? pattern.substring(0, pattern.length() - 3) : pattern;
+            this.perClient = new TokenBucketLimiter(rule.getCapacity(), rule.getRefillPerSecond());
+            this.perAccount = rule.getAccountCapacity() > 0
+                    ? new TokenBucketLimiter(rule.getAccountCapacity(), rule.getAccountRefillPerSecond())
+                    : null;
+        }
+
+        boolean matches(String path) {
+            if (!path.startsWith(prefix)) {
+                return false;
+            }
+            if (path.length() == prefix.length()) {
+                return true;
+            }
+            return wildcard && path.charAt(prefix.length()) == '/';
+        }
+    }
+}
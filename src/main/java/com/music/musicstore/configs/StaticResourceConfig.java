@@ -2,11 +2,14 @@ package com.music.musicstore.configs;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class StaticResourceConfig implements WebMvcConfigurer {
@@ -17,6 +20,10 @@ public class StaticResourceConfig implements WebMvcConfigurer {
     @Value("${file.upload-cache-seconds:0}")
     private int cacheSeconds;
 
+    // Content-addressed names change whenever the bytes do, so clients may keep them forever
+    @Value("${file.content-addressed:false}")
+    private boolean contentAddressed;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Map URL path /uploads/music/** to the filesystem uploads directory configured in application.properties
@@ -36,9 +43,8 @@ public class StaticResourceConfig implements WebMvcConfigurer {
         Path targetClassesUploads = Paths.get("target/classes/static/uploads/music").toAbsolutePath().normalize();
         String targetClassesLocation = targetClassesUploads.toUri().toString();
 
-        registry.addResourceHandler("/uploads/music/**")
-            .addResourceLocations(filesystemLocation, runtimeUploadsLocation, targetClassesLocation, classpathMusicLocation)
-            .setCachePeriod(cacheSeconds);
+        applyCaching(registry.addResourceHandler("/uploads/music/**")
+            .addResourceLocations(filesystemLocation, runtimeUploadsLocation, targetClassesLocation, classpathMusicLocation));
 
         // -- covers handler --
         // Compute a filesystem location that points to the 'covers' sibling of the configured 'music' folder
@@ -65,8 +71,15 @@ public class StaticResourceConfig implements WebMvcConfigurer {
         String runtimeCoversLocation = Paths.get("./uploads/covers").toAbsolutePath().normalize().toUri().toString();
         String targetClassesCoversLocation = Paths.get("target/classes/static/uploads/covers").toAbsolutePath().normalize().toUri().toString();
 
-        registry.addResourceHandler("/uploads/covers/**")
-            .addResourceLocations(filesystemCoversLocation, runtimeCoversLocation, targetClassesCoversLocation, classpathCoversLocation)
-            .setCachePeriod(cacheSeconds);
+        applyCaching(registry.addResourceHandler("/uploads/covers/**")
+            .addResourceLocations(filesystemCoversLocation, runtimeCoversLocation, targetClassesCoversLocation, classpathCoversLocation));
+    }
+
+    private void applyCaching(ResourceHandlerRegistration registration) {
+        if (contentAddressed) {
+            registration.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        } else {
+            registration.setCachePeriod(cacheSeconds);
+        }
     }
 }
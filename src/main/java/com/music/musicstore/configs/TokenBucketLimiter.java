@@ -0,0 +1,109 @@
+package com.music.musicstore.configs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by string (client IP or username), spread over independent stripes.
+ * Each bucket is a single AtomicLong packing the last refill time and the remaining tokens,
+ * updated with a CAS loop: no locks, and no allocation once the key has a bucket.
+ */
+public class TokenBucketLimiter {
+    private static final int STRIPES = 16;
+
+    // Lower 24 bits: tokens in thousandths; upper 40 bits: millis since the limiter was created
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    private final long capacity;
+    private final double refillPerMilli;
+    private final long epoch = System.currentTimeMillis();
+
+    private final List<Map<String, AtomicLong>> stripes;
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond) {
+        // Thousandths of a token per millisecond equals tokens per second
+        this.capacity = Math.min(Math.max(capacity, 1) * ONE_TOKEN, TOKEN_MASK);
+        this.refillPerMilli = Math.max(refillPerSecond, 0.000001);
+        List<Map<String, AtomicLong>> maps = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            maps.add(new ConcurrentHashMap<>());
+        }
+        this.stripes = List.copyOf(maps);
+    }
+
+    /**
+     * Take one token for the key.
+     * @return 0 if allowed, otherwise the milliseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.currentTimeMillis() - epoch;
+        Map<String, AtomicLong> stripe = stripe(key);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(pack(now, capacity)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long last = state >>> TOKEN_BITS;
+            long tokens = refilled(state, now);
+            if (tokens < ONE_TOKEN) {
+                return (long) Math.ceil((ONE_TOKEN - tokens) / refillPerMilli);
+            }
+            // Only advance the clock by the time actually turned into tokens, so slow rates still accrue
+            long newLast = tokens >= capacity ? now
+                    : Math.min(now, last + (long) ((tokens - (state & TOKEN_MASK)) / refillPerMilli));
+            if (bucket.compareAndSet(state, pack(newLast, tokens - ONE_TOKEN))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely and have been idle for the given time;
+     * a missing bucket behaves exactly like a full one
+     */
+    public int evictIdle(long idleMillis) {
+        long now = System.currentTimeMillis() - epoch;
+        int evicted = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(bucket -> {
+                long state = bucket.get();
+                return now - (state >>> TOKEN_BITS) >= idleMillis && refilled(state, now) >= capacity;
+            });
+            evicted += before - stripe.size();
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private long refilled(long state, long now) {
+        long tokens = state & TOKEN_MASK;
+        long elapsed = now - (state >>> TOKEN_BITS);
+        if (elapsed <= 0 || tokens >= capacity) {
+            return tokens;
+        }
+        return Math.min(capacity, tokens + (long) (elapsed * refillPerMilli));
+    }
+
+    private Map<String, AtomicLong> stripe(String key) {
+        return stripes.get((key.hashCode() & 0x7fffffff) % STRIPES);
+    }
+
+    private static long pack(long time, long tokens) {
+        return (time << TOKEN_BITS) | tokens;
+    }
+}
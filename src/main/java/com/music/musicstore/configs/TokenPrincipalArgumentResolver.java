@@ -0,0 +1,81 @@
+package com.music.musicstore.configs;
+
+import com.music.musicstore.models.users.Admin;
+import com.music.musicstore.models.users.Artist;
+import com.music.musicstore.models.users.Customer;
+import com.music.musicstore.models.users.Staff;
+import com.music.musicstore.repositories.AdminRepository;
+import com.music.musicstore.repositories.ArtistRepository;
+import com.music.musicstore.repositories.CustomerRepository;
+import com.music.musicstore.repositories.StaffRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@code @AuthenticationPrincipal Customer/Artist/Staff/Admin} parameters.
+ * With stateless authentication the principal is a {@link TokenUserDetails}, so the entity is
+ * loaded by id only for the handlers that actually need it.
+ */
+@Component
+public class TokenPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final CustomerRepository customerRepository;
+    private final ArtistRepository artistRepository;
+    private final StaffRepository staffRepository;
+    private final AdminRepository adminRepository;
+
+    @Autowired
+    public TokenPrincipalArgumentResolver(CustomerRepository customerRepository, ArtistRepository artistRepository,
+                                          StaffRepository staffRepository, AdminRepository adminRepository) {
+        this.customerRepository = customerRepository;
+        this.artistRepository = artistRepository;
+        this.staffRepository = staffRepository;
+        this.adminRepository = adminRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(AuthenticationPrincipal.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return type == Customer.class || type == Artist.class || type == Staff.class || type == Admin.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+
+        Object principal = authentication.getPrincipal();
+        Class<?> type = parameter.getParameterType();
+        if (type.isInstance(principal)) {
+            return principal;
+        }
+        if (!(principal instanceof TokenUserDetails tokenUser) || tokenUser.getId() == null) {
+            return null;
+        }
+
+        if (type == Customer.class && "ROLE_CUSTOMER".equals(tokenUser.getRole())) {
+            return customerRepository.findById(tokenUser.getId()).orElse(null);
+        } else if (type == Artist.class && "ROLE_ARTIST".equals(tokenUser.getRole())) {
+            return artistRepository.findById(tokenUser.getId()).orElse(null);
+        } else if (type == Staff.class && "ROLE_STAFF".equals(tokenUser.getRole())) {
+            return staffRepository.findById(tokenUser.getId()).orElse(null);
+        } else if (type == Admin.class && "ROLE_ADMIN".equals(tokenUser.getRole())) {
+            return adminRepository.findById(tokenUser.getId()).orElse(null);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.music.musicstore.configs;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Immutable principal built from verified JWT claims (stateless authentication)
+ * or snapshotted from a user entity for the UserDetails cache
+ */
+public class TokenUserDetails implements UserDetails {
+    private final Long id;
+    private final String username;
+    private final String role;
+    private final boolean enabled;
+    private final String password;
+
+    public TokenUserDetails(Long id, String username, String role, boolean enabled) {
+        this(id, username, role, enabled, null);
+    }
+
+    public TokenUserDetails(Long id, String username, String role, boolean enabled, String password) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.enabled = enabled;
+        this.password = password;
+    }
+
+    public static TokenUserDetails from(VerifiedToken token) {
+        return new TokenUserDetails(token.getUserId(), token.getSubject(), token.getRole(), token.isEnabled());
+    }
+
+    /**
+     * Detached copy of a user entity: no lazy collections, safe to share between requests
+     */
+    public static TokenUserDetails snapshot(Long id, UserDetails user) {
+        return new TokenUserDetails(id, user.getUsername(),
+                user.getAuthorities().iterator().next().getAuthority(), user.isEnabled(), user.getPassword());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword() {
+        // Only set for entity snapshots; the password hash is never part of a token
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenUserDetails{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", role='" + role + '\'' +
+                ", enabled=" + enabled +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.music.musicstore.configs;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Result of a single signature-checked parse of a JWT
+ */
+public class VerifiedToken {
+    private final String subject;
+    private final String tokenId;
+    private final String role;
+    private final Long userId;
+    private final boolean enabled;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Claims claims;
+
+    public VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.tokenId = claims.getId();
+        this.role = claims.get("role", String.class);
+        Object uid = claims.get("uid");
+        this.userId = uid instanceof Number ? ((Number) uid).longValue() : null;
+        // Tokens issued before the claim existed are treated as enabled; the DB path still checks them
+        Boolean enabledClaim = claims.get("enabled", Boolean.class);
+        this.enabled = enabledClaim == null || enabledClaim;
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.claims = claims;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * True when the token carries everything needed to authenticate without a DB lookup
+     */
+    public boolean hasIdentityClaims() {
+        return subject != null && role != null && userId != null;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+}
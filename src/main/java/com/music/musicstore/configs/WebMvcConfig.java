@@ -0,0 +1,23 @@
+package com.music.musicstore.configs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE) // Must run before Spring Security's own @AuthenticationPrincipal resolver
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private TokenPrincipalArgumentResolver tokenPrincipalArgumentResolver;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(tokenPrincipalArgumentResolver);
+    }
+}
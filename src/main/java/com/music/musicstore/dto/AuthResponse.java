@@ -3,6 +3,7 @@ package com.music.musicstore.dto;
 public class AuthResponse {
     private String token;
     private UserDto user;
+    private String refreshToken;
 
     public AuthResponse() {}
 
@@ -11,9 +12,18 @@ public class AuthResponse {
         this.user = user;
     }
 
+    public AuthResponse(String token, UserDto user, String refreshToken) {
+        this.token = token;
+        this.user = user;
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 
     public UserDto getUser() { return user; }
     public void setUser(UserDto user) { this.user = user; }
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
 }
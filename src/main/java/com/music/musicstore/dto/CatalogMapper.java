@@ -0,0 +1,110 @@
+package com.music.musicstore.dto;
+
+import com.music.musicstore.models.music.Album;
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.AlbumSummary;
+import com.music.musicstore.repositories.MusicSummary;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * The one place Music and Album (entities or list projections) become API DTOs
+ */
+@Component
+public class CatalogMapper {
+
+    private static final String UNKNOWN_ARTIST = "Unknown Artist";
+    private static final String UNKNOWN_ALBUM = "Unknown Album";
+
+    public MusicDto toMusicDto(Music music) {
+        return toMusicDto(music, UNKNOWN_ALBUM);
+    }
+
+    /**
+     * missingAlbum stands in for a track without an album; the artist and cart views have always
+     * sent null there, the catalog views "Unknown Album"
+     */
+    public MusicDto toMusicDto(Music music, String missingAlbum) {
+        if (music == null) return null;
+        return new MusicDto(
+                music.getId(),
+                music.getName(),
+                music.getDescription(),
+                music.getPrice(),
+                music.getImageUrl(),
+                music.getAudioFilePath(),
+                music.getCategory(),
+                music.getArtistUsername() != null ? music.getArtistUsername() : UNKNOWN_ARTIST,
+                music.getAlbumName() != null ? music.getAlbumName() : missingAlbum,
+                music.getGenre(),
+                music.getReleaseYear(),
+                music.getCreatedAt(),
+                rating(music.getAverageRating()),
+                music.getTotalReviews()
+        );
+    }
+
+    // List rows carry no description; the detail endpoint has it
+    public MusicDto toMusicListDto(MusicSummary music) {
+        return toMusicListDto(music, UNKNOWN_ALBUM);
+    }
+
+    public MusicDto toMusicListDto(MusicSummary music, String missingAlbum) {
+        if (music == null) return null;
+        return new MusicDto(
+                music.getId(),
+                music.getName(),
+                null,
+                music.getPrice(),
+                music.getImageUrl(),
+                music.getAudioFilePath(),
+                music.getCategory(),
+                music.getArtistUsername() != null ? music.getArtistUsername() : UNKNOWN_ARTIST,
+                music.getAlbumName() != null ? music.getAlbumName() : missingAlbum,
+                music.getGenre(),
+                music.getReleaseYear(),
+                music.getCreatedAt(),
+                rating(music.getAverageRating()),
+                music.getTotalReviews()
+        );
+    }
+
+    public AlbumDto toAlbumDto(Album album) {
+        if (album == null) return null;
+        return new AlbumDto(
+                album.getId(),
+                album.getTitle(),
+                album.getDescription(),
+                album.getArtistUsername() != null ? album.getArtistUsername() : UNKNOWN_ARTIST,
+                album.getGenre(),
+                album.getPrice(),
+                album.getCoverImageUrl(),
+                album.getReleaseDate(),
+                album.getCreatedAt(),
+                album.getUpdatedAt(),
+                0  // Track count removed as tracks relationship was removed
+        );
+    }
+
+    public AlbumDto toAlbumListDto(AlbumSummary album) {
+        if (album == null) return null;
+        return new AlbumDto(
+                album.getId(),
+                album.getTitle(),
+                null,
+                album.getArtistUsername() != null ? album.getArtistUsername() : UNKNOWN_ARTIST,
+                album.getGenre(),
+                album.getPrice(),
+                album.getCoverImageUrl(),
+                album.getReleaseDate(),
+                album.getCreatedAt(),
+                album.getUpdatedAt(),
+                0
+        );
+    }
+
+    private static double rating(BigDecimal averageRating) {
+        return averageRating != null ? averageRating.doubleValue() : 0.0;
+    }
+}
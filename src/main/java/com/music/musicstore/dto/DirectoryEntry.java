@@ -0,0 +1,22 @@
+package com.music.musicstore.dto;
+
+/**
+ * One genre, category or artist in the catalog directory with the number of items under it
+ */
+public class DirectoryEntry {
+    private String name;
+    private long count;
+
+    public DirectoryEntry() {}
+
+    public DirectoryEntry(String name, long count) {
+        this.name = name;
+        this.count = count;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
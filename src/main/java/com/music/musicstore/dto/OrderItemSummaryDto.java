@@ -0,0 +1,42 @@
+package com.music.musicstore.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of an order list row: the purchase-time snapshot of the track, not the Music entity
+ */
+public class OrderItemSummaryDto {
+    private Long orderId;
+    private Long musicId;
+    private String musicTitle;
+    private String artistName;
+    private BigDecimal unitPrice;
+
+    public OrderItemSummaryDto() {}
+
+    public OrderItemSummaryDto(Long orderId, Long musicId, String musicTitle, String artistName, BigDecimal unitPrice) {
+        this.orderId = orderId;
+        this.musicId = musicId;
+        this.musicTitle = musicTitle;
+        this.artistName = artistName;
+        this.unitPrice = unitPrice;
+    }
+
+    @JsonIgnore
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public Long getMusicId() { return musicId; }
+    public void setMusicId(Long musicId) { this.musicId = musicId; }
+
+    public String getMusicTitle() { return musicTitle; }
+    public void setMusicTitle(String musicTitle) { this.musicTitle = musicTitle; }
+
+    public String getArtistName() { return artistName; }
+    public void setArtistName(String artistName) { this.artistName = artistName; }
+
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+}
@@ -0,0 +1,56 @@
+package com.music.musicstore.dto;
+
+import com.music.musicstore.models.order.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order list row, built by a JPQL constructor expression; items are attached by a second query
+ */
+public class OrderSummaryDto {
+    private Long id;
+    private LocalDateTime orderDate;
+    private BigDecimal totalAmount;
+    private Order.OrderStatus status;
+    private String paymentMethod;
+    private String customerUsername;
+    private List<OrderItemSummaryDto> items = new ArrayList<>();
+
+    public OrderSummaryDto() {}
+
+    public OrderSummaryDto(Long id, LocalDateTime orderDate, BigDecimal totalAmount, Order.OrderStatus status,
+                           String paymentMethod, String customerUsername) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+        this.customerUsername = customerUsername;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Order.OrderStatus getStatus() { return status; }
+    public void setStatus(Order.OrderStatus status) { this.status = status; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public String getCustomerUsername() { return customerUsername; }
+    public void setCustomerUsername(String customerUsername) { this.customerUsername = customerUsername; }
+
+    public List<OrderItemSummaryDto> getItems() { return items; }
+    public void setItems(List<OrderItemSummaryDto> items) { this.items = items; }
+
+    public int getItemCount() { return items.size(); }
+}
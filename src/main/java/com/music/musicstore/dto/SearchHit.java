@@ -0,0 +1,33 @@
+package com.music.musicstore.dto;
+
+import java.util.function.Function;
+
+/**
+ * One ranked search result with a highlighted snippet of the text that matched
+ */
+public class SearchHit<T> {
+    private T item;
+    private double rank;
+    private String snippet;
+
+    public SearchHit() {}
+
+    public SearchHit(T item, double rank, String snippet) {
+        this.item = item;
+        this.rank = rank;
+        this.snippet = snippet;
+    }
+
+    public <R> SearchHit<R> map(Function<? super T, ? extends R> mapper) {
+        return new SearchHit<>(mapper.apply(item), rank, snippet);
+    }
+
+    public T getItem() { return item; }
+    public void setItem(T item) { this.item = item; }
+
+    public double getRank() { return rank; }
+    public void setRank(double rank) { this.rank = rank; }
+
+    public String getSnippet() { return snippet; }
+    public void setSnippet(String snippet) { this.snippet = snippet; }
+}
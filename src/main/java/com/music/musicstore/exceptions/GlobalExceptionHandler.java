@@ -46,6 +46,17 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage(), HttpStatus.FORBIDDEN, ex.getErrorCode());
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(
+            TooManyRequestsException ex, WebRequest request) {
+        logger.warn("Request rejected: {}", ex.getMessage());
+        ResponseEntity<Map<String, Object>> response =
+                createErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, ex.getErrorCode());
+        return ResponseEntity.status(response.getStatusCode())
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(
             ValidationException ex, WebRequest request) {
@@ -0,0 +1,17 @@
+package com.music.musicstore.exceptions;
+
+/**
+ * Exception thrown when a request is shed because a bounded resource is saturated
+ */
+public class TooManyRequestsException extends MusicStoreException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, "TOO_MANY_REQUESTS");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
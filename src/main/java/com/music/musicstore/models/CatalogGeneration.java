@@ -0,0 +1,34 @@
+package com.music.musicstore.models;
+
+import jakarta.persistence.*;
+
+/**
+ * Change counter for one catalog list ("music" or "albums"), bumped with every write so all
+ * nodes derive the same list ETag
+ */
+@Entity
+@Table(name = "catalog_generations")
+public class CatalogGeneration {
+
+    @Id
+    @Column(name = "name", length = 30)
+    private String name;
+
+    @Column(name = "generation", nullable = false)
+    private long generation;
+
+    // Default constructor required by JPA
+    public CatalogGeneration() {}
+
+    public CatalogGeneration(String name, long generation) {
+        this.name = name;
+        this.generation = generation;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getGeneration() { return generation; }
+    public void setGeneration(long generation) { this.generation = generation; }
+}
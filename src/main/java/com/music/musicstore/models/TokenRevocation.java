@@ -0,0 +1,103 @@
+package com.music.musicstore.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted revocation entry: either a single token (by jti) or a per-user "not before" cut-off
+ */
+@Entity
+@Table(name = "token_revocations",
+       indexes = {
+           @Index(name = "idx_token_revocations_key", columnList = "revocation_key", unique = true),
+           @Index(name = "idx_token_revocations_updated_at", columnList = "updated_at")
+       })
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "jti:<token id>" or "user:<username>"
+    @Column(name = "revocation_key", nullable = false, unique = true)
+    private String revocationKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 10)
+    private Kind kind;
+
+    @Column(name = "username")
+    private String username;
+
+    @Column(name = "token_id")
+    private String tokenId;
+
+    // USER entries: tokens issued before this epoch millisecond are rejected (Long.MAX_VALUE = disabled)
+    @Column(name = "not_before")
+    private Long notBefore;
+
+    // TOKEN entries: the entry can be dropped once the token itself has expired
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "reason", length = 50)
+    private String reason;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Kind {
+        TOKEN, USER
+    }
+
+    // Default constructor required by JPA
+    public TokenRevocation() {}
+
+    public static String tokenKey(String tokenId) {
+        return "jti:" + tokenId;
+    }
+
+    public static String userKey(String username) {
+        return "user:" + username;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getRevocationKey() { return revocationKey; }
+    public void setRevocationKey(String revocationKey) { this.revocationKey = revocationKey; }
+
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getTokenId() { return tokenId; }
+    public void setTokenId(String tokenId) { this.tokenId = tokenId; }
+
+    public Long getNotBefore() { return notBefore; }
+    public void setNotBefore(Long notBefore) { this.notBefore = notBefore; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public String toString() {
+        return "TokenRevocation{" +
+                "revocationKey='" + revocationKey + '\'' +
+                ", kind=" + kind +
+                ", notBefore=" + notBefore +
+                ", expiresAt=" + expiresAt +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+}
@@ -10,11 +10,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "music")
+@Table(name = "music",
+       indexes = {
+           @Index(name = "idx_music_genre", columnList = "genre"),
+           @Index(name = "idx_music_artist_username", columnList = "artist_username"),
+           @Index(name = "idx_music_created_at_id", columnList = "created_at, id")
+       })
 public class Music {
 
+    // Pooled sequence rather than IDENTITY, so inserts can be JDBC-batched (bulk import)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "music_id_generator")
+    @SequenceGenerator(name = "music_id_generator", sequenceName = "music_id_seq_pooled", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Product name is required")
@@ -0,0 +1,73 @@
+package com.music.musicstore.models.users;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Username index across the admins, staff, artists and customers tables
+ */
+@Entity
+@Table(name = "user_identity",
+       indexes = @Index(name = "idx_user_identity_username", columnList = "username", unique = true))
+public class UserIdentity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String username;
+
+    // CUSTOMER, ARTIST, STAFF or ADMIN
+    @Column(nullable = false, length = 20)
+    private String role;
+
+    @Column(name = "owner_table", nullable = false, length = 30)
+    private String ownerTable;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor required by JPA
+    public UserIdentity() {}
+
+    public UserIdentity(String username, String role, String ownerTable, Long userId) {
+        this.username = username;
+        this.role = role;
+        this.ownerTable = ownerTable;
+        this.userId = userId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getOwnerTable() { return ownerTable; }
+    public void setOwnerTable(String ownerTable) { this.ownerTable = ownerTable; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String toString() {
+        return "UserIdentity{" +
+                "username='" + username + '\'' +
+                ", role='" + role + '\'' +
+                ", ownerTable='" + ownerTable + '\'' +
+                ", userId=" + userId +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package com.music.musicstore.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.music.musicstore.models.users.Admin;
 
 import java.util.List;
@@ -14,4 +15,10 @@ public interface  AdminRepository  extends JpaRepository<Admin, Long>{
 
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT a.username FROM Admin a WHERE a.enabled = false")
+    List<String> findDisabledUsernames();
+
+    @Query("SELECT a.username, a.id FROM Admin a")
+    List<Object[]> findAllUsernamesAndIds();
 }
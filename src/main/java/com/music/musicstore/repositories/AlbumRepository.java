@@ -27,16 +27,36 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
     // Count albums by artist username
     long countByArtistUsername(String artistUsername);
 
+    // Albums whose cover is a stored file
+    long countByCoverImageUrlEndingWith(String fileName);
+
     // Find albums by artist username (non-paginated)
     List<Album> findByArtistUsername(String artistUsername);
 
     // Find albums by genre (paginated)
     Page<Album> findByGenreContainingIgnoreCase(String genre, Pageable pageable);
 
+    // List-view projections (only the AlbumSummary columns)
+    Page<AlbumSummary> findSummariesBy(Pageable pageable);
+    Page<AlbumSummary> findSummariesByGenreContainingIgnoreCase(String genre, Pageable pageable);
+    Page<AlbumSummary> findSummariesByArtistUsername(String artistUsername, Pageable pageable);
+
     // Find albums by artist username and genre
     List<Album> findByArtistUsernameAndGenre(String artistUsername, String genre);
 
     // Find album by ID (tracks relationship removed)
     @Query("SELECT a FROM Album a WHERE a.id = :id")
     Album findByIdWithTracks(@Param("id") Long id);
+
+    // Full-text search (search.backend=postgres, see add_full_text_search.sql), best first
+    @Query(value = "SELECT a.id AS id, " +
+                   "CAST(ts_rank_cd(a.search_vector, q) + word_similarity(lower(:query), lower(a.title)) AS double precision) AS rank, " +
+                   "ts_headline('simple', concat_ws(' - ', a.title, a.artist, a.description), q, " + FullTextHit.HEADLINE_OPTIONS + ") AS snippet " +
+                   "FROM albums a, websearch_to_tsquery('simple', :query) q " +
+                   "WHERE a.search_vector @@ q OR lower(:query) <% lower(a.title) " +
+                   "ORDER BY rank DESC, a.id DESC",
+           countQuery = "SELECT count(*) FROM albums a, websearch_to_tsquery('simple', :query) q " +
+                        "WHERE a.search_vector @@ q OR lower(:query) <% lower(a.title)",
+           nativeQuery = true)
+    Page<FullTextHit> searchFullText(@Param("query") String query, Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.music.musicstore.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columns an album list row needs, selected as a tuple instead of loading Album entities
+ */
+public interface AlbumSummary {
+    Long getId();
+
+    String getTitle();
+
+    String getArtistUsername();
+
+    String getGenre();
+
+    BigDecimal getPrice();
+
+    String getCoverImageUrl();
+
+    LocalDateTime getReleaseDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -2,8 +2,10 @@ package com.music.musicstore.repositories;
 
 import com.music.musicstore.models.users.Artist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +19,10 @@ public interface ArtistRepository extends JpaRepository<Artist, Long> {
     }
 
     Optional<Artist> findById(Long id);
+
+    @Query("SELECT a.userName FROM Artist a WHERE a.enabled = false")
+    List<String> findDisabledUsernames();
+
+    @Query("SELECT a.userName, a.id FROM Artist a")
+    List<Object[]> findAllUsernamesAndIds();
 }
@@ -0,0 +1,22 @@
+package com.music.musicstore.repositories;
+
+import com.music.musicstore.models.CatalogGeneration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface CatalogGenerationRepository extends JpaRepository<CatalogGeneration, String> {
+
+    @Query("SELECT g.generation FROM CatalogGeneration g WHERE g.name = :name")
+    Optional<Long> findGeneration(@Param("name") String name);
+
+    // 0 when the counter row does not exist yet
+    @Modifying
+    @Transactional
+    @Query("UPDATE CatalogGeneration g SET g.generation = g.generation + 1 WHERE g.name = :name")
+    int increment(@Param("name") String name);
+}
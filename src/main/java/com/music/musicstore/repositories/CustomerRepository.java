@@ -27,4 +27,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.purchasedMusic WHERE c.id = :customerId")
     Optional<Customer> findByIdWithPurchasedMusic(@Param("customerId") Long customerId);
+
+    @Query("SELECT c.username FROM Customer c WHERE c.enabled = false")
+    List<String> findDisabledUsernames();
+
+    @Query("SELECT c.username, c.id FROM Customer c")
+    List<Object[]> findAllUsernamesAndIds();
 }
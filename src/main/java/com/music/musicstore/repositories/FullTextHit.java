@@ -0,0 +1,16 @@
+package com.music.musicstore.repositories;
+
+/**
+ * Row returned by the native full-text search queries: the matched entity id, its relevance
+ * (higher is better) and a ts_headline fragment with matches wrapped in &lt;mark&gt; tags
+ */
+public interface FullTextHit {
+    // ts_headline options shared by the search queries
+    String HEADLINE_OPTIONS = "'StartSel=<mark>, StopSel=</mark>, MaxWords=24, MinWords=8, MaxFragments=2'";
+
+    Long getId();
+
+    Double getRank();
+
+    String getSnippet();
+}
@@ -0,0 +1,36 @@
+package com.music.musicstore.repositories;
+
+import com.music.musicstore.models.MediaBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+
+    // 0 when the blob is not known yet
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount + 1, b.updatedAt = :now WHERE b.name = :name")
+    int incrementRefCount(@Param("name") String name, @Param("now") LocalDateTime now);
+
+    // 0 for names that are not content-addressed blobs (UUID-named uploads)
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount - 1, b.updatedAt = :now WHERE b.name = :name AND b.refCount > 0")
+    int decrementRefCount(@Param("name") String name, @Param("now") LocalDateTime now);
+
+    // Re-syncs the count with the rows found referencing the blob
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaBlob b SET b.refCount = :refCount, b.updatedAt = :now WHERE b.name = :name")
+    int setRefCount(@Param("name") String name, @Param("refCount") int refCount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MediaBlob b WHERE b.name = :name AND b.refCount <= 0")
+    int deleteUnreferenced(@Param("name") String name);
+}
@@ -0,0 +1,39 @@
+package com.music.musicstore.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One catalog row for the bulk export, read as a tuple so streamed rows are never managed
+ */
+public interface MusicExportRow {
+    Long getId();
+
+    String getName();
+
+    String getArtistUsername();
+
+    String getAlbumName();
+
+    String getGenre();
+
+    String getCategory();
+
+    Integer getReleaseYear();
+
+    BigDecimal getPrice();
+
+    BigDecimal getAverageRating();
+
+    Integer getTotalReviews();
+
+    String getDescription();
+
+    String getImageUrl();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Boolean getFlagged();
+}
@@ -1,22 +1,38 @@
 package com.music.musicstore.repositories;
 
 import com.music.musicstore.models.music.Music;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface MusicRepository extends JpaRepository<Music, Long> {
+public interface MusicRepository extends JpaRepository<Music, Long>, JpaSpecificationExecutor<Music> {
 
     List<Music> findByCategory(String category);
 
+    // Whole catalog for the export, read through a cursor in fetch-size batches; close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m.id AS id, m.name AS name, m.artistUsername AS artistUsername, m.albumName AS albumName, " +
+           "m.genre AS genre, m.category AS category, m.releaseYear AS releaseYear, m.price AS price, " +
+           "m.averageRating AS averageRating, m.totalReviews AS totalReviews, m.description AS description, " +
+           "m.imageUrl AS imageUrl, m.createdAt AS createdAt, m.updatedAt AS updatedAt, m.isFlagged AS flagged " +
+           "FROM Music m ORDER BY m.id")
+    Stream<MusicExportRow> streamForExport();
+
     List<Music> findByArtistUsername(String artistUsername);
 
     List<Music> findByGenre(String genre);
@@ -46,6 +62,11 @@ public interface MusicRepository extends JpaRepository<Music, Long> {
     // Paginated version for better performance
     Page<Music> findByArtistUsername(String artistUsername, Pageable pageable);
 
+    // List-view projection of an artist's tracks (only the MusicSummary columns)
+    Page<MusicSummary> findSummariesByArtistUsername(String artistUsername, Pageable pageable);
+
+    List<MusicSummary> findAllSummariesByArtistUsername(String artistUsername);
+
     // Find by genre with pagination
     Page<Music> findByGenre(String genre, Pageable pageable);
 
@@ -54,6 +75,13 @@ public interface MusicRepository extends JpaRepository<Music, Long> {
     // Count methods for analytics
     long countByArtistUsername(String artistUsername);
 
+    // Empty when the track does not exist; holds null when it exists without a timestamp
+    @Query("SELECT m.updatedAt FROM Music m WHERE m.id = :id")
+    List<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // Rows still pointing at a stored file (paths are '/uploads/<folder>/<name>' or the bare name)
+    long countByAudioFilePathEndingWithOrImageUrlEndingWith(String audioFileName, String imageFileName);
+
     // Flagged music methods
     Page<Music> findByIsFlaggedTrue(Pageable pageable);
     long countByIsFlaggedTrue();
@@ -76,4 +104,17 @@ public interface MusicRepository extends JpaRepository<Music, Long> {
            "FROM Music m WHERE m.artistUsername IS NOT NULL " +
            "GROUP BY m.artistUsername")
     List<Object[]> getArtistPerformanceStats();
+
+    // Full-text search (search.backend=postgres, see add_full_text_search.sql): tsvector matches
+    // plus trigram word similarity on name/artist for typos and partial words, best first
+    @Query(value = "SELECT m.id AS id, " +
+                   "CAST(ts_rank_cd(m.search_vector, q) + word_similarity(lower(:query), lower(m.name)) AS double precision) AS rank, " +
+                   "ts_headline('simple', concat_ws(' - ', m.name, m.artist_username, m.description), q, " + FullTextHit.HEADLINE_OPTIONS + ") AS snippet " +
+                   "FROM music m, websearch_to_tsquery('simple', :query) q " +
+                   "WHERE m.search_vector @@ q OR lower(:query) <% lower(m.name) OR lower(:query) <% lower(m.artist_username) " +
+                   "ORDER BY rank DESC, m.id DESC",
+           countQuery = "SELECT count(*) FROM music m, websearch_to_tsquery('simple', :query) q " +
+                        "WHERE m.search_vector @@ q OR lower(:query) <% lower(m.name) OR lower(:query) <% lower(m.artist_username)",
+           nativeQuery = true)
+    Page<FullTextHit> searchFullText(@Param("query") String query, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.music.musicstore.repositories;
+
+import com.music.musicstore.models.music.Music;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Composable catalog filters for MusicRepository. Each returns null when its argument is blank,
+ * so any subset can be combined with Specification.where(...).and(...) into a single query.
+ */
+public final class MusicSpecifications {
+
+    private MusicSpecifications() {}
+
+    public static Specification<Music> hasGenre(String genre) {
+        if (isBlank(genre)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("genre"), genre.trim());
+    }
+
+    public static Specification<Music> hasArtist(String artistUsername) {
+        if (isBlank(artistUsername)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("artistUsername"), artistUsername.trim());
+    }
+
+    // Tracks nobody has flagged (is_flagged is null on older rows)
+    public static Specification<Music> notFlagged() {
+        return (root, query, cb) -> cb.or(cb.isNull(root.get("isFlagged")), cb.isFalse(root.get("isFlagged")));
+    }
+
+    public static Specification<Music> hasMinReviews(int minReviews) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("totalReviews"), minReviews);
+    }
+
+    // Same semantics as the existing title-or-artist search
+    public static Specification<Music> matchesSearch(String search) {
+        if (isBlank(search)) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(search.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                cb.like(cb.lower(root.get("artistUsername")), pattern, '\\'));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,36 @@
+package com.music.musicstore.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columns a catalog list row needs. Selected as a tuple, so list queries skip the description
+ * and file name columns and never put Music entities in the persistence context.
+ */
+public interface MusicSummary {
+    Long getId();
+
+    String getName();
+
+    BigDecimal getPrice();
+
+    String getImageUrl();
+
+    String getAudioFilePath();
+
+    String getCategory();
+
+    String getArtistUsername();
+
+    String getAlbumName();
+
+    String getGenre();
+
+    Integer getReleaseYear();
+
+    LocalDateTime getCreatedAt();
+
+    BigDecimal getAverageRating();
+
+    Integer getTotalReviews();
+}
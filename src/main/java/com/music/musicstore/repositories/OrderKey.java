@@ -0,0 +1,12 @@
+package com.music.musicstore.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of an order; cursor pages select only these columns and load the rows as OrderSummaryDto
+ */
+public interface OrderKey {
+    Long getId();
+
+    LocalDateTime getOrderDate();
+}
@@ -1,20 +1,24 @@
 package com.music.musicstore.repositories;
 
+import com.music.musicstore.dto.OrderItemSummaryDto;
+import com.music.musicstore.dto.OrderSummaryDto;
 import com.music.musicstore.models.users.Customer;
 import com.music.musicstore.models.order.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     List<Order> findByCustomer(Customer customer);
     List<Order> findByCustomerOrderByOrderDateDesc(Customer customer);
     List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
@@ -27,6 +31,30 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByCustomer_Username(String username, Pageable pageable);
     List<Order> findByCustomer_Username(String username);
 
+    // Order list rows without loading Order/Customer/OrderItem/Music entities; items come from findItemSummaries
+    @Query(value = "SELECT new com.music.musicstore.dto.OrderSummaryDto(o.id, o.orderDate, o.totalAmount, o.status, " +
+                   "o.paymentMethod, c.username) FROM Order o JOIN o.customer c WHERE c.username = :username",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.customer.username = :username")
+    Page<OrderSummaryDto> findSummariesByCustomerUsername(@Param("username") String username, Pageable pageable);
+
+    @Query(value = "SELECT new com.music.musicstore.dto.OrderSummaryDto(o.id, o.orderDate, o.totalAmount, o.status, " +
+                   "o.paymentMethod, c.username) FROM Order o JOIN o.customer c",
+           countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderSummaryDto> findSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new com.music.musicstore.dto.OrderSummaryDto(o.id, o.orderDate, o.totalAmount, o.status, " +
+                   "o.paymentMethod, c.username) FROM Order o JOIN o.customer c WHERE o.status = :status",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<OrderSummaryDto> findSummariesByStatus(@Param("status") Order.OrderStatus status, Pageable pageable);
+
+    @Query("SELECT new com.music.musicstore.dto.OrderSummaryDto(o.id, o.orderDate, o.totalAmount, o.status, " +
+           "o.paymentMethod, c.username) FROM Order o JOIN o.customer c WHERE o.id IN :orderIds")
+    List<OrderSummaryDto> findSummariesByIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT new com.music.musicstore.dto.OrderItemSummaryDto(i.order.id, i.music.id, i.musicTitle, " +
+           "i.artistName, i.unitPrice) FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemSummaryDto> findItemSummaries(@Param("orderIds") Collection<Long> orderIds);
+
     // Count orders by date range
     long countByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
@@ -75,4 +103,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     // Count orders by status
     long countByStatus(Order.OrderStatus status);
+
+    // Units sold per track and day since the cut-off, for the trending rail
+    @Query("SELECT i.music.id, DATE(o.orderDate), COUNT(i) FROM Order o JOIN o.orderItems i " +
+           "WHERE o.orderDate >= :since AND o.status <> :excluded " +
+           "GROUP BY i.music.id, DATE(o.orderDate)")
+    List<Object[]> countSalesByMusicAndDaySince(@Param("since") LocalDateTime since,
+                                                @Param("excluded") Order.OrderStatus excluded);
 }
@@ -39,4 +39,9 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 
     List<Review> findByMusic(Music music);
+
+    // Reviews per track and day since the cut-off with their average rating, for the trending rail
+    @Query("SELECT r.music.id, DATE(r.createdAt), COUNT(r), AVG(r.rating) FROM Review r " +
+           "WHERE r.createdAt >= :since GROUP BY r.music.id, DATE(r.createdAt)")
+    List<Object[]> countReviewsByMusicAndDaySince(@Param("since") LocalDateTime since);
 }
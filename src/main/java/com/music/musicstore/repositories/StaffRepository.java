@@ -2,10 +2,18 @@ package com.music.musicstore.repositories;
 
 import com.music.musicstore.models.users.Staff;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface StaffRepository extends JpaRepository<Staff, Long> {
     Optional<Staff> findByUsername(String username);
     Optional<Staff> findByEmail(String email);
+
+    @Query("SELECT s.username FROM Staff s WHERE s.enabled = false")
+    List<String> findDisabledUsernames();
+
+    @Query("SELECT s.username, s.id FROM Staff s")
+    List<Object[]> findAllUsernamesAndIds();
 }
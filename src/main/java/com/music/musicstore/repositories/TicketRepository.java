@@ -106,4 +106,21 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     // Count tickets assigned to staff
     long countByAssignedStaff(Staff staff);
+
+    // Full-text search (search.backend=postgres, see add_full_text_search.sql): stemmed matches in
+    // message content and trigram matches on the subject, one row per ticket with its best snippet
+    @Query(value = "SELECT h.ticket_id AS id, max(h.rank) AS rank, " +
+                   "(array_agg(h.snippet ORDER BY h.rank DESC))[1] AS snippet " +
+                   "FROM (" +
+                   "  SELECT t.id AS ticket_id, CAST(word_similarity(lower(:query), lower(t.subject)) AS double precision) AS rank, " +
+                   "         t.subject AS snippet " +
+                   "  FROM tickets t WHERE lower(:query) <% lower(t.subject) " +
+                   "  UNION ALL " +
+                   "  SELECT m.ticket_id, CAST(ts_rank_cd(m.search_vector, q) AS double precision), " +
+                   "         ts_headline('english', m.content, q, " + FullTextHit.HEADLINE_OPTIONS + ") " +
+                   "  FROM ticket_messages m, websearch_to_tsquery('english', :query) q WHERE m.search_vector @@ q" +
+                   ") h " +
+                   "GROUP BY h.ticket_id ORDER BY rank DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<FullTextHit> searchFullText(@Param("query") String query, @Param("limit") int limit);
 }
@@ -0,0 +1,24 @@
+package com.music.musicstore.repositories;
+
+import com.music.musicstore.models.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    Optional<TokenRevocation> findByRevocationKey(String revocationKey);
+
+    // Entries written since the last sync, including those made by other instances
+    List<TokenRevocation> findByUpdatedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevocation r WHERE r.kind = com.music.musicstore.models.TokenRevocation.Kind.TOKEN AND r.expiresAt < :now")
+    int deleteExpiredTokens(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.music.musicstore.repositories;
+
+import com.music.musicstore.models.users.UserIdentity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface UserIdentityRepository extends JpaRepository<UserIdentity, Long> {
+    Optional<UserIdentity> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserIdentity u WHERE u.username = :username")
+    int deleteByUsername(@Param("username") String username);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserIdentity u SET u.username = :newUsername WHERE u.username = :oldUsername")
+    int renameUsername(@Param("oldUsername") String oldUsername, @Param("newUsername") String newUsername);
+}
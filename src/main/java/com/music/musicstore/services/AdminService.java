@@ -1,15 +1,18 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.configs.TokenUserDetails;
 import com.music.musicstore.models.users.Admin;
 import com.music.musicstore.repositories.AdminRepository;
 import com.music.musicstore.exceptions.ResourceNotFoundException;
 import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.exceptions.BusinessRuleException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,11 +25,19 @@ public class AdminService {
 
     private final AdminRepository adminRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityService userIdentityService;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AdminService(AdminRepository adminRepository, PasswordEncoder passwordEncoder) {
+    public AdminService(AdminRepository adminRepository, PasswordEncoder passwordEncoder,
+                         UserIdentityService userIdentityService, UserDetailsCache userDetailsCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.adminRepository = adminRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userIdentityService = userIdentityService;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
         logger.info("AdminService initialized successfully");
     }
 
@@ -38,6 +49,11 @@ public class AdminService {
             throw new ValidationException("Username cannot be null or empty");
         }
 
+        TokenUserDetails cached = userDetailsCache.get(username, "ROLE_ADMIN");
+        if (cached != null) {
+            return cached;
+        }
+
         Optional<Admin> adminOpt = adminRepository.findByUsername(username);
         if (adminOpt.isEmpty()) {
             // Don't log this as error since CombinedUserDetailsService expects this to fail for non-admin users
@@ -47,9 +63,12 @@ public class AdminService {
 
         Admin admin = adminOpt.get();
         logger.info("Successfully loaded admin: {}", username);
-        return admin;
+        TokenUserDetails snapshot = TokenUserDetails.snapshot(admin.getId(), admin);
+        userDetailsCache.put(snapshot);
+        return snapshot;
     }
 
+    @Transactional
     public Admin createAdmin(Admin admin) {
         logger.debug("Creating new admin: {}", admin != null ? admin.getUsername() : "null");
 
@@ -88,6 +107,7 @@ public class AdminService {
             // Encode password
             admin.setPassword(passwordEncoder.encode(admin.getPassword()));
             Admin savedAdmin = adminRepository.save(admin);
+            userIdentityService.register(savedAdmin.getUsername(), "ADMIN", savedAdmin.getId());
 
             logger.info("Successfully created admin: {} (ID: {})", savedAdmin.getUsername(), savedAdmin.getId());
             return savedAdmin;
@@ -174,6 +194,7 @@ public class AdminService {
         }
     }
 
+    @Transactional
     public void deleteAdmin(Long id) {
         logger.debug("Deleting admin with ID: {}", id);
 
@@ -191,6 +212,8 @@ public class AdminService {
             }
 
             adminRepository.deleteById(id);
+            userIdentityService.remove(admin.get().getUsername());
+            eventPublisher.publishEvent(new UserAccountChangedEvent(admin.get().getUsername()));
             logger.info("Successfully deleted admin with ID: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting admin with ID: {}", id, e);
@@ -259,6 +282,7 @@ public class AdminService {
             }
 
             Admin updatedAdmin = adminRepository.save(admin);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(existingAdmin.getUsername()));
             logger.info("Successfully updated admin: {} (ID: {})", updatedAdmin.getUsername(), updatedAdmin.getId());
         } catch (Exception e) {
             logger.error("Error updating admin: {}", admin.getUsername(), e);
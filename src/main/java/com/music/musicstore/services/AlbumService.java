@@ -1,7 +1,9 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.dto.SearchHit;
 import com.music.musicstore.models.music.Album;
 import com.music.musicstore.repositories.AlbumRepository;
+import com.music.musicstore.repositories.AlbumSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,15 +20,29 @@ import java.util.Optional;
 public class AlbumService {
 
     private final AlbumRepository albumRepository;
+    private final FullTextSearchService fullTextSearchService;
+    private final CatalogCache catalogCache;
+    private final CatalogDirectory catalogDirectory;
+    private final CatalogVersions catalogVersions;
 
     @Autowired
-    public AlbumService(AlbumRepository albumRepository) {
+    public AlbumService(AlbumRepository albumRepository, FullTextSearchService fullTextSearchService,
+                        CatalogCache catalogCache, CatalogDirectory catalogDirectory,
+                        CatalogVersions catalogVersions) {
         this.albumRepository = albumRepository;
+        this.fullTextSearchService = fullTextSearchService;
+        this.catalogCache = catalogCache;
+        this.catalogDirectory = catalogDirectory;
+        this.catalogVersions = catalogVersions;
     }
 
     // Create new album
     public Album saveAlbum(Album album) {
-        return albumRepository.save(album);
+        Album saved = albumRepository.save(album);
+        catalogCache.evictAlbum(saved.getId());
+        catalogDirectory.onAlbumSaved(saved);
+        catalogVersions.albumChanged();
+        return saved;
     }
 
     // Get all albums with pagination
@@ -35,17 +51,17 @@ public class AlbumService {
         return albumRepository.findAll(pageable);
     }
 
-    // Get all albums with pagination and sorting
-    public Page<Album> getAllAlbumsPaginated(int page, int size, String sortBy, String sortDir) {
+    // Get all albums with pagination and sorting (list columns only)
+    public Page<AlbumSummary> getAllAlbumsPaginated(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return albumRepository.findAll(pageable);
+        return albumRepository.findSummariesBy(pageable);
     }
 
     // Get album by ID
     public Optional<Album> getAlbumById(Long id) {
-        return albumRepository.findById(id);
+        return catalogCache.findAlbum(id);
     }
 
     // Get album by ID with tracks loaded
@@ -60,20 +76,23 @@ public class AlbumService {
 
     // Search albums by title
     public Page<Album> searchAlbumsByTitle(String title, int page, int size) {
+        if (fullTextSearchService.isEnabled()) {
+            return fullTextSearchService.searchAlbums(title, page, size).map(SearchHit::getItem);
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         return albumRepository.findByTitleContainingIgnoreCase(title, pageable);
     }
 
     // Get albums by genre
-    public Page<Album> getAlbumsByGenre(String genre, int page, int size) {
+    public Page<AlbumSummary> getAlbumsByGenre(String genre, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return albumRepository.findByGenreContainingIgnoreCase(genre, pageable);
+        return albumRepository.findSummariesByGenreContainingIgnoreCase(genre, pageable);
     }
 
     // Get albums by artist username
-    public Page<Album> getAlbumsByArtistUsername(String artistUsername, int page, int size) {
+    public Page<AlbumSummary> getAlbumsByArtistUsername(String artistUsername, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return albumRepository.findByArtistUsername(artistUsername, pageable);
+        return albumRepository.findSummariesByArtistUsername(artistUsername, pageable);
     }
 
     // Count albums by artist username
@@ -106,7 +125,11 @@ public class AlbumService {
             if (albumDetails.getArtistUsername() != null) {
                 album.setArtistUsername(albumDetails.getArtistUsername());
             }
-            return albumRepository.save(album);
+            Album saved = albumRepository.save(album);
+            catalogCache.evictAlbum(id);
+            catalogDirectory.onAlbumSaved(saved);
+            catalogVersions.albumChanged();
+            return saved;
         }
         return null;
     }
@@ -115,6 +138,9 @@ public class AlbumService {
     public boolean deleteAlbum(Long id) {
         if (albumRepository.existsById(id)) {
             albumRepository.deleteById(id);
+            catalogCache.evictAlbum(id);
+            catalogDirectory.onAlbumDeleted(id);
+            catalogVersions.albumChanged();
             return true;
         }
         return false;
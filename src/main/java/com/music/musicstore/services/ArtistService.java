@@ -1,15 +1,18 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.configs.TokenUserDetails;
 import com.music.musicstore.models.users.Artist;
 import com.music.musicstore.repositories.ArtistRepository;
 import com.music.musicstore.exceptions.ResourceNotFoundException;
 import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.exceptions.BusinessRuleException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,11 +25,19 @@ public class ArtistService {
 
     private final ArtistRepository artistRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityService userIdentityService;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ArtistService(ArtistRepository artistRepository, PasswordEncoder passwordEncoder) {
+    public ArtistService(ArtistRepository artistRepository, PasswordEncoder passwordEncoder,
+                         UserIdentityService userIdentityService, UserDetailsCache userDetailsCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.artistRepository = artistRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userIdentityService = userIdentityService;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
         logger.info("ArtistService initialized successfully");
     }
 
@@ -38,6 +49,11 @@ public class ArtistService {
             throw new ValidationException("Username cannot be null or empty");
         }
 
+        TokenUserDetails cached = userDetailsCache.get(username, "ROLE_ARTIST");
+        if (cached != null) {
+            return cached;
+        }
+
         Optional<Artist> artistOpt = artistRepository.findByUserName(username);
         if (artistOpt.isEmpty()) {
             // Don't log this as error since CombinedUserDetailsService expects this to fail for non-artist users
@@ -47,9 +63,12 @@ public class ArtistService {
 
         Artist artist = artistOpt.get();
         logger.info("Successfully loaded artist: {}", username);
-        return artist;
+        TokenUserDetails snapshot = TokenUserDetails.snapshot(artist.getId(), artist);
+        userDetailsCache.put(snapshot);
+        return snapshot;
     }
 
+    @Transactional
     public void registerArtist(String name, String rawPassword) {
         logger.debug("Registering new artist: {}", name);
 
@@ -74,6 +93,7 @@ public class ArtistService {
             artist.setUserName(name);
             artist.setPassword(encodedPassword);
             Artist savedArtist = artistRepository.save(artist);
+            userIdentityService.register(savedArtist.getUserName(), "ARTIST", savedArtist.getId());
 
             logger.info("Successfully registered artist: {} (ID: {})", name, savedArtist.getId());
         } catch (Exception e) {
@@ -82,6 +102,7 @@ public class ArtistService {
         }
     }
 
+    @Transactional
     public void deleteArtistByName(String name) {
         logger.debug("Deleting artist by name: {}", name);
 
@@ -98,6 +119,7 @@ public class ArtistService {
             }
 
             artistRepository.deleteByUserName(name);
+            userIdentityService.remove(name);
             logger.info("Successfully deleted artist: {}", name);
         } catch (Exception e) {
             logger.error("Error deleting artist by name: {}", name, e);
@@ -130,6 +152,7 @@ public class ArtistService {
             }
 
             Artist updatedArtist = artistRepository.save(artist);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(existingArtist.getUserName()));
             logger.info("Successfully updated artist: {} (ID: {})", updatedArtist.getUserName(), updatedArtist.getId());
         } catch (Exception e) {
             logger.error("Error updating artist: {}", artist.getUserName(), e);
@@ -137,6 +160,7 @@ public class ArtistService {
         }
     }
 
+    @Transactional
     public void updateArtistUsername(Long id, String newName) {
         logger.debug("Updating artist username for ID: {} to: {}", id, newName);
 
@@ -167,6 +191,8 @@ public class ArtistService {
             String oldName = artist.getUserName();
             artist.setUserName(newName);
             artistRepository.save(artist);
+            userIdentityService.rename(oldName, newName);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(oldName));
 
             logger.info("Successfully updated artist username from '{}' to '{}' (ID: {})", oldName, newName, id);
         } catch (Exception e) {
@@ -287,6 +313,7 @@ public class ArtistService {
         }
     }
 
+    @Transactional
     public Artist createArtist(Artist artist) {
         logger.debug("Creating new artist: {}", artist != null ? artist.getUserName() : "null");
 
@@ -315,6 +342,7 @@ public class ArtistService {
 
             artist.setPassword(passwordEncoder.encode(artist.getPassword()));
             Artist savedArtist = artistRepository.save(artist);
+            userIdentityService.register(savedArtist.getUserName(), "ARTIST", savedArtist.getId());
 
             logger.info("Successfully created artist: {}", savedArtist.getUserName());
             return savedArtist;
@@ -1,5 +1,6 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.dto.CursorPage;
 import com.music.musicstore.models.AuditLog;
 import com.music.musicstore.repositories.AuditLogRepository;
 import org.slf4j.Logger;
@@ -7,6 +8,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +23,9 @@ public class AuditLogService {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    private final KeysetPager<AuditLog> auditLogPager =
+            new KeysetPager<>("timestamp", AuditLog::getTimestamp, AuditLog::getId);
+
     /**
      * Log an admin action
      */
@@ -94,6 +100,15 @@ public class AuditLogService {
         return auditLogRepository.findAll(pageable);
     }
 
+    /**
+     * Keyset variant of getAuditLogs/getAuditLogsByAdmin, newest first
+     */
+    public CursorPage<AuditLog> getAuditLogsByCursor(String cursor, int size, String adminUsername, boolean includeTotal) {
+        Specification<AuditLog> filter = adminUsername == null ? null
+                : (root, query, cb) -> cb.equal(root.get("adminUsername"), adminUsername);
+        return auditLogPager.fetch(auditLogRepository, filter, cursor, size, Sort.Direction.DESC, includeTotal);
+    }
+
     /**
      * Get audit logs by admin username
      */
@@ -0,0 +1,70 @@
+package com.music.musicstore.services;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings. A negative answer is definite; a positive one
+ * must be confirmed against the exact set. Entries cannot be removed, so callers
+ * rebuild the filter when their exact set shrinks.
+ */
+class BloomFilter {
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        this.capacity = Math.max(expectedEntries, 1);
+        long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, Math.min((m + 63) / 64, Integer.MAX_VALUE / 64));
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        this.bits = new AtomicLongArray(words);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void add(int namespace, String value) {
+        long hash = hash(namespace, value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(int namespace, String value) {
+        long hash = hash(namespace, value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over the chars, seeded by namespace so the same string can live in several key spaces
+    private static long hash(int namespace, String value) {
+        long h = 0xcbf29ce484222325L ^ namespace;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // Final avalanche so both 32-bit halves are usable as independent hashes
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -26,15 +26,17 @@ public class CartService {
     private final MusicRepository musicRepository;
     private final CustomerService customerService;
     private final CustomerRepository customerRepository;
+    private final CatalogCache catalogCache;
 
     public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository,
                       MusicRepository musicRepository, CustomerService customerService,
-                      CustomerRepository customerRepository) {
+                      CustomerRepository customerRepository, CatalogCache catalogCache) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.musicRepository = musicRepository;
         this.customerService = customerService;
         this.customerRepository = customerRepository;
+        this.catalogCache = catalogCache;
         logger.info("CartService initialized successfully");
     }
 
@@ -82,7 +84,8 @@ public class CartService {
 
         try {
             Cart cart = getOrCreateCart(customer);
-            Music music = musicRepository.findById(musicId)
+            // Only read for its price and used as the item's foreign key, so a cached copy will do
+            Music music = catalogCache.findMusic(musicId)
                     .orElseThrow(() -> {
                         logger.error("Music not found with ID: {}", musicId);
                         return new ResourceNotFoundException("Music", musicId.toString());
@@ -0,0 +1,139 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Album;
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.AlbumRepository;
+import com.music.musicstore.repositories.MusicRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Near-cache of Music and Album by id in front of findById. Holds detached snapshots and hands
+ * out copies, so callers may modify what they get without touching the cached state.
+ * Entries are invalidated by every catalog write; the TTL only bounds staleness across nodes.
+ */
+@Service
+public class CatalogCache {
+
+    private final MusicRepository musicRepository;
+    private final AlbumRepository albumRepository;
+    private final TinyLfuCache<Long, Music> music;
+    private final TinyLfuCache<Long, Album> albums;
+
+    @Autowired
+    public CatalogCache(MusicRepository musicRepository,
+                        AlbumRepository albumRepository,
+                        @Value("${catalog-cache.music-max-size:10000}") int musicMaxSize,
+                        @Value("${catalog-cache.album-max-size:2000}") int albumMaxSize,
+                        @Value("${catalog-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.musicRepository = musicRepository;
+        this.albumRepository = albumRepository;
+        this.music = new TinyLfuCache<>(musicMaxSize, ttlSeconds * 1000);
+        this.albums = new TinyLfuCache<>(albumMaxSize, ttlSeconds * 1000);
+    }
+
+    public Optional<Music> findMusic(Long id) {
+        Music cached = music.get(id);
+        if (cached == null) {
+            Optional<Music> loaded = musicRepository.findById(id);
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            cached = CatalogSnapshots.copy(loaded.get());
+            music.put(id, cached);
+        }
+        return Optional.of(CatalogSnapshots.copy(cached));
+    }
+
+    /**
+     * Cached tracks for the given ids; the misses are loaded with one IN query. Ids that do not
+     * exist are simply absent from the result.
+     */
+    public Map<Long, Music> findMusicByIds(Collection<Long> ids) {
+        Map<Long, Music> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Music cached = music.get(id);
+            if (cached != null) {
+                found.put(id, CatalogSnapshots.copy(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Music loaded : musicRepository.findAllById(missing)) {
+                Music snapshot = CatalogSnapshots.copy(loaded);
+                music.put(loaded.getId(), snapshot);
+                found.put(loaded.getId(), CatalogSnapshots.copy(snapshot));
+            }
+        }
+        return found;
+    }
+
+    public Optional<Album> findAlbum(Long id) {
+        Album cached = albums.get(id);
+        if (cached == null) {
+            Optional<Album> loaded = albumRepository.findById(id);
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            cached = CatalogSnapshots.copy(loaded.get());
+            albums.put(id, cached);
+        }
+        return Optional.of(CatalogSnapshots.copy(cached));
+    }
+
+    @EventListener
+    public void onMusicChanged(MusicChangedEvent event) {
+        Long id = event.getMusicId();
+        music.invalidate(id);
+        // Evict again when the transaction completes, in case a reader re-cached the old row in between
+        afterCompletion(() -> music.invalidate(id));
+    }
+
+    // Imported rows are new, so there is nothing stale to race with; one eviction each is enough
+    @EventListener
+    public void onMusicImported(MusicImportedEvent event) {
+        event.getMusic().forEach(imported -> music.invalidate(imported.getId()));
+    }
+
+    public void evictAlbum(Long id) {
+        albums.invalidate(id);
+        afterCompletion(() -> albums.invalidate(id));
+    }
+
+    public void clear() {
+        music.clear();
+        albums.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("music", music.getStats());
+        stats.put("albums", albums.getStats());
+        return stats;
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.dto.DirectoryEntry;
+import com.music.musicstore.exceptions.ValidationException;
+import com.music.musicstore.models.music.Album;
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.AlbumRepository;
+import com.music.musicstore.repositories.MusicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Distinct genres, categories and artists of the catalog with their counts, kept in memory and
+ * adjusted on every catalog write, so the directory endpoints never run SELECT DISTINCT.
+ * Sorted listings are rebuilt lazily on the first read after a change.
+ */
+@Service
+public class CatalogDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogDirectory.class);
+
+    public static final String GENRES = "genres";
+    public static final String CATEGORIES = "categories";
+    public static final String ARTISTS = "artists";
+    public static final String ALBUM_GENRES = "album-genres";
+
+    public static final String SORT_NAME = "name";
+    public static final String SORT_COUNT = "count";
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final Comparator<DirectoryEntry> BY_NAME = Comparator
+            .comparing(DirectoryEntry::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(DirectoryEntry::getName);
+    private static final Comparator<DirectoryEntry> BY_COUNT = Comparator
+            .comparingLong(DirectoryEntry::getCount).reversed()
+            .thenComparing(BY_NAME);
+
+    private final MusicRepository musicRepository;
+    private final AlbumRepository albumRepository;
+
+    private final Map<String, Dimension> dimensions = new LinkedHashMap<>();
+
+    // What each track / album was last counted under, so an update moves it between entries
+    private final Map<Long, String[]> musicValues = new HashMap<>();
+    private final Map<Long, String> albumGenres = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @Autowired
+    public CatalogDirectory(MusicRepository musicRepository, AlbumRepository albumRepository) {
+        this.musicRepository = musicRepository;
+        this.albumRepository = albumRepository;
+        for (String name : new String[]{GENRES, CATEGORIES, ARTISTS, ALBUM_GENRES}) {
+            dimensions.put(name, new Dimension());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<Music> catalog = musicRepository.findAll();
+            List<Album> albums = albumRepository.findAll();
+            synchronized (this) {
+                dimensions.values().forEach(Dimension::clear);
+                musicValues.clear();
+                albumGenres.clear();
+                catalog.forEach(this::addMusic);
+                albums.forEach(this::addAlbum);
+            }
+            ready = true;
+            logger.info("Built catalog directory: {} genres, {} categories, {} artists in {} ms",
+                    dimensions.get(GENRES).size(), dimensions.get(CATEGORIES).size(),
+                    dimensions.get(ARTISTS).size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error building catalog directory", e);
+        }
+    }
+
+    @EventListener
+    public synchronized void onMusicChanged(MusicChangedEvent event) {
+        removeMusic(event.getMusicId());
+        if (!event.isDeleted()) {
+            addMusic(event.getMusic());
+        }
+    }
+
+    @EventListener
+    public synchronized void onMusicImported(MusicImportedEvent event) {
+        for (Music music : event.getMusic()) {
+            removeMusic(music.getId());
+            addMusic(music);
+        }
+    }
+
+    public synchronized void onAlbumSaved(Album album) {
+        if (album == null || album.getId() == null) {
+            return;
+        }
+        removeAlbum(album.getId());
+        addAlbum(album);
+    }
+
+    public synchronized void onAlbumDeleted(Long albumId) {
+        removeAlbum(albumId);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * All names of a directory in alphabetical order
+     */
+    public List<String> names(String directory) {
+        return Arrays.stream(dimension(directory).listing().byName)
+                .map(DirectoryEntry::getName)
+                .toList();
+    }
+
+    /**
+     * One page of a directory with counts, optionally restricted to names starting with a prefix
+     * (case-insensitive). Sorted by name or by count, most first.
+     */
+    public Page<DirectoryEntry> page(String directory, String prefix, String sort, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new ValidationException("Page must be >= 0 and size >= 1");
+        }
+        if (!SORT_NAME.equals(sort) && !SORT_COUNT.equals(sort)) {
+            throw new ValidationException("Sort must be '" + SORT_NAME + "' or '" + SORT_COUNT + "'");
+        }
+        size = Math.min(size, MAX_PAGE_SIZE);
+        Listing listing = dimension(directory).listing();
+        String normalizedPrefix = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+
+        DirectoryEntry[] entries;
+        if (normalizedPrefix.isEmpty()) {
+            entries = SORT_NAME.equals(sort) ? listing.byName : listing.byCount;
+        } else {
+            // Names sharing a prefix are contiguous in the case-insensitive name order
+            int from = lowerBound(listing.byName, normalizedPrefix);
+            int to = from;
+            while (to < listing.byName.length
+                    && listing.byName[to].getName().toLowerCase(Locale.ROOT).startsWith(normalizedPrefix)) {
+                to++;
+            }
+            entries = Arrays.copyOfRange(listing.byName, from, to);
+            if (SORT_COUNT.equals(sort)) {
+                Arrays.sort(entries, BY_COUNT);
+            }
+        }
+
+        long offset = (long) page * size;
+        List<DirectoryEntry> content = offset >= entries.length
+                ? List.of()
+                : Arrays.asList(entries).subList((int) offset, (int) Math.min(entries.length, offset + size));
+        return new PageImpl<>(content, PageRequest.of(page, size), entries.length);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        dimensions.forEach((name, dimension) -> stats.put(name, dimension.size()));
+        return stats;
+    }
+
+    private Dimension dimension(String directory) {
+        Dimension dimension = dimensions.get(directory);
+        if (dimension == null) {
+            throw new ValidationException("Unknown directory: " + directory);
+        }
+        return dimension;
+    }
+
+    private void addMusic(Music music) {
+        if (music == null || music.getId() == null) {
+            return;
+        }
+        String[] values = {
+                trimToNull(music.getGenre()),
+                trimToNull(music.getCategory()),
+                trimToNull(music.getArtistUsername())
+        };
+        dimensions.get(GENRES).adjust(values[0], 1);
+        dimensions.get(CATEGORIES).adjust(values[1], 1);
+        dimensions.get(ARTISTS).adjust(values[2], 1);
+        musicValues.put(music.getId(), values);
+    }
+
+    private void removeMusic(Long musicId) {
+        String[] values = musicId != null ? musicValues.remove(musicId) : null;
+        if (values == null) {
+            return;
+        }
+        dimensions.get(GENRES).adjust(values[0], -1);
+        dimensions.get(CATEGORIES).adjust(values[1], -1);
+        dimensions.get(ARTISTS).adjust(values[2], -1);
+    }
+
+    private void addAlbum(Album album) {
+        if (album == null || album.getId() == null) {
+            return;
+        }
+        String genre = trimToNull(album.getGenre());
+        dimensions.get(ALBUM_GENRES).adjust(genre, 1);
+        albumGenres.put(album.getId(), genre);
+    }
+
+    private void removeAlbum(Long albumId) {
+        if (albumId != null && albumGenres.containsKey(albumId)) {
+            dimensions.get(ALBUM_GENRES).adjust(albumGenres.remove(albumId), -1);
+        }
+    }
+
+    // First entry whose lower-cased name is >= the prefix
+    private static int lowerBound(DirectoryEntry[] byName, String prefix) {
+        int low = 0;
+        int high = byName.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(byName[mid].getName(), prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Counts for one directory. Writers hold the CatalogDirectory lock; readers get the last
+     * published sorted listing and only rebuild it when a write has cleared it.
+     */
+    private static final class Dimension {
+        private final Map<String, Long> counts = new HashMap<>();
+        private volatile Listing listing;
+
+        synchronized void adjust(String value, long delta) {
+            if (value == null) {
+                return;
+            }
+            counts.merge(value, delta, (current, change) -> current + change > 0 ? current + change : null);
+            listing = null;
+        }
+
+        synchronized void clear() {
+            counts.clear();
+            listing = null;
+        }
+
+        synchronized int size() {
+            return counts.size();
+        }
+
+        Listing listing() {
+            Listing current = listing;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (listing == null) {
+                    DirectoryEntry[] byName = counts.entrySet().stream()
+                            .map(entry -> new DirectoryEntry(entry.getKey(), entry.getValue()))
+                            .sorted(BY_NAME)
+                            .toArray(DirectoryEntry[]::new);
+                    DirectoryEntry[] byCount = byName.clone();
+                    Arrays.sort(byCount, BY_COUNT);
+                    listing = new Listing(byName, byCount);
+                }
+                return listing;
+            }
+        }
+    }
+
+    private static final class Listing {
+        final DirectoryEntry[] byName;
+        final DirectoryEntry[] byCount;
+
+        Listing(DirectoryEntry[] byName, DirectoryEntry[] byCount) {
+            this.byName = byName;
+            this.byCount = byCount;
+        }
+    }
+}
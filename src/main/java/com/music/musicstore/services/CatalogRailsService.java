@@ -0,0 +1,283 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.models.order.Order;
+import com.music.musicstore.repositories.MusicRepository;
+import com.music.musicstore.repositories.MusicSpecifications;
+import com.music.musicstore.repositories.OrderRepository;
+import com.music.musicstore.repositories.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Storefront rails (featured, trending, new releases, top rated) computed in the background.
+ * Each rail is an immutable snapshot published with a single reference swap, so requests read
+ * it from memory and never see a half-built list.
+ */
+@Service
+public class CatalogRailsService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogRailsService.class);
+
+    public enum Rail { FEATURED, TRENDING, NEW_RELEASES, TOP_RATED }
+
+    // A review counts for less than a sale, scaled by its rating (0.3 at 1 star, 0.5 at 5 stars)
+    private static final double REVIEW_BASE_WEIGHT = 0.25;
+    private static final double REVIEW_RATING_WEIGHT = 0.05;
+
+    private final MusicRepository musicRepository;
+    private final OrderRepository orderRepository;
+    private final ReviewRepository reviewRepository;
+
+    private final Map<Rail, AtomicReference<Snapshot>> rails = new EnumMap<>(Rail.class);
+    private final Map<Rail, LongAdder> failures = new EnumMap<>(Rail.class);
+
+    @Value("${rails.size:20}")
+    private int railSize;
+
+    @Value("${rails.featured-size:8}")
+    private int featuredSize;
+
+    @Value("${rails.trending-window-days:30}")
+    private int trendingWindowDays;
+
+    @Value("${rails.trending-half-life-hours:72}")
+    private double trendingHalfLifeHours;
+
+    @Value("${rails.top-rated-min-reviews:3}")
+    private int topRatedMinReviews;
+
+    @Value("${rails.trending-refresh-ms:60000}")
+    private long trendingRefreshMs;
+
+    @Value("${rails.catalog-refresh-ms:300000}")
+    private long catalogRefreshMs;
+
+    @Autowired
+    public CatalogRailsService(MusicRepository musicRepository,
+                               OrderRepository orderRepository,
+                               ReviewRepository reviewRepository) {
+        this.musicRepository = musicRepository;
+        this.orderRepository = orderRepository;
+        this.reviewRepository = reviewRepository;
+        for (Rail rail : Rail.values()) {
+            rails.put(rail, new AtomicReference<>());
+            failures.put(rail, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        refreshCatalogRails();
+        refreshTrending();
+    }
+
+    /**
+     * Current snapshot of a rail; empty until the first build has finished
+     */
+    public List<Music> getRail(Rail rail) {
+        Snapshot snapshot = rails.get(rail).get();
+        return snapshot != null ? snapshot.items : List.of();
+    }
+
+    @Scheduled(fixedDelayString = "${rails.trending-refresh-ms:60000}",
+               initialDelayString = "${rails.trending-refresh-ms:60000}")
+    public void refreshTrending() {
+        build(Rail.TRENDING, this::computeTrending);
+        build(Rail.FEATURED, this::computeFeatured);
+    }
+
+    @Scheduled(fixedDelayString = "${rails.catalog-refresh-ms:300000}",
+               initialDelayString = "${rails.catalog-refresh-ms:300000}")
+    public void refreshCatalogRails() {
+        build(Rail.NEW_RELEASES, this::computeNewReleases);
+        build(Rail.TOP_RATED, this::computeTopRated);
+        build(Rail.FEATURED, this::computeFeatured);
+    }
+
+    public Map<String, Object> getStats() {
+        Instant now = Instant.now();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Rail rail : Rail.values()) {
+            long interval = rail == Rail.NEW_RELEASES || rail == Rail.TOP_RATED ? catalogRefreshMs : trendingRefreshMs;
+            Snapshot snapshot = rails.get(rail).get();
+
+            Map<String, Object> railStats = new LinkedHashMap<>();
+            railStats.put("size", snapshot != null ? snapshot.items.size() : 0);
+            railStats.put("builtAt", snapshot != null ? snapshot.builtAt.toString() : null);
+            long ageMs = snapshot != null ? Duration.between(snapshot.builtAt, now).toMillis() : -1;
+            railStats.put("ageSeconds", snapshot != null ? ageMs / 1000 : null);
+            railStats.put("buildMillis", snapshot != null ? snapshot.buildMillis : null);
+            railStats.put("refreshIntervalMs", interval);
+            // Stale once a couple of refreshes have been missed (or it was never built)
+            railStats.put("stale", snapshot == null || ageMs > 2 * interval);
+            railStats.put("failures", failures.get(rail).sum());
+            stats.put(rail.name(), railStats);
+        }
+        return stats;
+    }
+
+    private void build(Rail rail, RailBuilder builder) {
+        long start = System.currentTimeMillis();
+        try {
+            // Copies, so later edits to the loaded entities cannot change a published rail
+            List<Music> items = builder.build().stream()
+                    .map(CatalogSnapshots::copy)
+                    .collect(Collectors.toList());
+            rails.get(rail).set(new Snapshot(Collections.unmodifiableList(items), Instant.now(),
+                    System.currentTimeMillis() - start));
+            logger.debug("Rebuilt {} rail: {} tracks", rail, items.size());
+        } catch (Exception e) {
+            // The previous snapshot stays in place; staleness metrics show the missed refresh
+            failures.get(rail).increment();
+            logger.error("Error rebuilding {} rail", rail, e);
+        }
+    }
+
+    private List<Music> computeNewReleases() {
+        Specification<Music> visible = Specification.allOf(MusicSpecifications.notFlagged(),
+                (root, query, cb) -> cb.isNotNull(root.get("createdAt")));
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+        return musicRepository.findBy(visible, q -> q.sortBy(sort).limit(railSize).all());
+    }
+
+    private List<Music> computeTopRated() {
+        Specification<Music> rated = Specification.allOf(MusicSpecifications.notFlagged(),
+                MusicSpecifications.hasMinReviews(topRatedMinReviews));
+        Sort sort = Sort.by(Sort.Direction.DESC, "averageRating")
+                .and(Sort.by(Sort.Direction.DESC, "totalReviews"))
+                .and(Sort.by(Sort.Direction.DESC, "id"));
+        return musicRepository.findBy(rated, q -> q.sortBy(sort).limit(railSize).all());
+    }
+
+    /**
+     * Sales and reviews over the window, each weighted by 2^(-age / half-life) so last week's
+     * hits fade out instead of holding the rail forever. Aggregated per track and day in SQL.
+     */
+    private List<Music> computeTrending() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime since = today.minusDays(trendingWindowDays).atStartOfDay();
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (Object[] row : orderRepository.countSalesByMusicAndDaySince(since, Order.OrderStatus.CANCELLED)) {
+            double units = ((Number) row[2]).doubleValue();
+            scores.merge((Long) row[0], units * decay(toLocalDate(row[1]), today), Double::sum);
+        }
+        for (Object[] row : reviewRepository.countReviewsByMusicAndDaySince(since)) {
+            double reviews = ((Number) row[2]).doubleValue();
+            double rating = row[3] != null ? ((Number) row[3]).doubleValue() : 0.0;
+            double weight = reviews * (REVIEW_BASE_WEIGHT + REVIEW_RATING_WEIGHT * rating);
+            scores.merge((Long) row[0], weight * decay(toLocalDate(row[1]), today), Double::sum);
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                // Leave room for flagged tracks that are filtered out below
+                .limit(railSize * 2L)
+                .collect(Collectors.toList());
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Music> byId = musicRepository.findAllById(ranked).stream()
+                .collect(Collectors.toMap(Music::getId, Function.identity()));
+        List<Music> trending = new ArrayList<>(railSize);
+        for (Long id : ranked) {
+            Music music = byId.get(id);
+            if (music != null && !Boolean.TRUE.equals(music.getIsFlagged()) && trending.size() < railSize) {
+                trending.add(music);
+            }
+        }
+        return trending;
+    }
+
+    /**
+     * Interleaves trending, top rated and new releases with at most one track per artist,
+     * so the front page mixes what is selling, what is loved and what is new
+     */
+    private List<Music> computeFeatured() {
+        List<List<Music>> sources = List.of(getRail(Rail.TRENDING), getRail(Rail.TOP_RATED), getRail(Rail.NEW_RELEASES));
+        Set<Long> seen = new HashSet<>();
+        Set<String> artists = new LinkedHashSet<>();
+        List<Music> featured = new ArrayList<>(featuredSize);
+
+        int longest = sources.stream().mapToInt(List::size).max().orElse(0);
+        for (int i = 0; i < longest && featured.size() < featuredSize; i++) {
+            for (List<Music> source : sources) {
+                if (i >= source.size() || featured.size() >= featuredSize) {
+                    continue;
+                }
+                Music music = source.get(i);
+                String artist = music.getArtistUsername() != null ? music.getArtistUsername() : "";
+                if (seen.add(music.getId()) && artists.add(artist)) {
+                    featured.add(music);
+                }
+            }
+        }
+        return featured;
+    }
+
+    private double decay(LocalDate day, LocalDate today) {
+        // Measured from the middle of the day the activity happened
+        double ageHours = Duration.between(day.atTime(12, 0), today.atTime(12, 0)).toHours();
+        return Math.pow(2, -Math.max(0, ageHours) / trendingHalfLifeHours);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        return LocalDate.parse(value.toString());
+    }
+
+    @FunctionalInterface
+    private interface RailBuilder {
+        List<Music> build();
+    }
+
+    private static final class Snapshot {
+        final List<Music> items;
+        final Instant builtAt;
+        final long buildMillis;
+
+        Snapshot(List<Music> items, Instant builtAt, long buildMillis) {
+            this.items = items;
+            this.builtAt = builtAt;
+            this.buildMillis = buildMillis;
+        }
+    }
+}
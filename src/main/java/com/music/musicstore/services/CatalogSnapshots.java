@@ -0,0 +1,53 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Album;
+import com.music.musicstore.models.music.Music;
+
+/**
+ * Detached field-by-field copies of catalog entities for the in-memory read models
+ */
+final class CatalogSnapshots {
+
+    private CatalogSnapshots() {}
+
+    static Music copy(Music music) {
+        Music copy = new Music();
+        copy.setId(music.getId());
+        copy.setName(music.getName());
+        copy.setDescription(music.getDescription());
+        copy.setPrice(music.getPrice());
+        copy.setImageUrl(music.getImageUrl());
+        copy.setAudioFilePath(music.getAudioFilePath());
+        copy.setOriginalFileName(music.getOriginalFileName());
+        copy.setCategory(music.getCategory());
+        copy.setCreatedAt(music.getCreatedAt());
+        copy.setUpdatedAt(music.getUpdatedAt());
+        copy.setArtistUsername(music.getArtistUsername());
+        copy.setAlbumName(music.getAlbumName());
+        copy.setGenre(music.getGenre());
+        copy.setReleaseYear(music.getReleaseYear());
+        copy.setAverageRating(music.getAverageRating());
+        copy.setTotalReviews(music.getTotalReviews());
+        copy.setFlagged(music.getIsFlagged());
+        copy.setFlaggedAt(music.getFlaggedAt());
+        copy.setFlaggedByCustomerId(music.getFlaggedByCustomerId());
+        return copy;
+    }
+
+    static Album copy(Album album) {
+        Album copy = new Album();
+        copy.setId(album.getId());
+        copy.setTitle(album.getTitle());
+        copy.setDescription(album.getDescription());
+        copy.setArtistUsername(album.getArtistUsername());
+        copy.setArtistUsernameField(album.getArtistUsernameField());
+        copy.setGenre(album.getGenre());
+        copy.setCover(album.getCover());
+        copy.setPrice(album.getPrice());
+        copy.setCoverImageUrl(album.getCoverImageUrl());
+        copy.setReleaseDate(album.getReleaseDate());
+        copy.setCreatedAt(album.getCreatedAt());
+        copy.setUpdatedAt(album.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,125 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.CatalogGeneration;
+import com.music.musicstore.models.music.Album;
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.CatalogGenerationRepository;
+import com.music.musicstore.repositories.MusicRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Validators behind the catalog ETags, derived from the database so every node agrees: a track
+ * or album is versioned by its updatedAt, and each list by a counter in catalog_generations that
+ * every catalog write bumps (inside the writer's transaction when it has one). The ETag is read
+ * before the data it describes, so a response can only ever be older than its validator says.
+ */
+@Service
+public class CatalogVersions {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersions.class);
+
+    static final String MUSIC = "music";
+    static final String ALBUMS = "albums";
+
+    private final CatalogGenerationRepository catalogGenerationRepository;
+    private final MusicRepository musicRepository;
+
+    @Autowired
+    public CatalogVersions(CatalogGenerationRepository catalogGenerationRepository, MusicRepository musicRepository) {
+        this.catalogGenerationRepository = catalogGenerationRepository;
+        this.musicRepository = musicRepository;
+    }
+
+    // The counter rows must exist before the first bump; several nodes may race to create them
+    @PostConstruct
+    public void createCounters() {
+        for (String name : List.of(MUSIC, ALBUMS)) {
+            try {
+                if (!catalogGenerationRepository.existsById(name)) {
+                    catalogGenerationRepository.saveAndFlush(new CatalogGeneration(name, 1));
+                }
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Catalog generation '{}' created by another node", name);
+            } catch (Exception e) {
+                logger.error("Error creating catalog generation '{}'", name, e);
+            }
+        }
+    }
+
+    @EventListener
+    public void onMusicChanged(MusicChangedEvent event) {
+        bump(MUSIC);
+    }
+
+    @EventListener
+    public void onMusicImported(MusicImportedEvent event) {
+        bump(MUSIC);
+    }
+
+    public void albumChanged() {
+        bump(ALBUMS);
+    }
+
+    public String musicListETag() {
+        return etag(MUSIC, generation(MUSIC));
+    }
+
+    public String albumListETag() {
+        return etag(ALBUMS, generation(ALBUMS));
+    }
+
+    public String musicETag(Music music) {
+        return etag("music-" + music.getId(), stamp(music.getUpdatedAt()));
+    }
+
+    public String albumETag(Album album) {
+        return etag("album-" + album.getId(), stamp(album.getUpdatedAt()));
+    }
+
+    /**
+     * The track's ETag from a one-column read, for views derived from it (e.g. its review stats);
+     * empty when the track does not exist
+     */
+    public Optional<String> musicETag(Long musicId) {
+        List<LocalDateTime> updatedAt = musicRepository.findUpdatedAtById(musicId);
+        return updatedAt.isEmpty()
+                ? Optional.empty()
+                : Optional.of(etag("music-" + musicId, stamp(updatedAt.get(0))));
+    }
+
+    private long generation(String name) {
+        return catalogGenerationRepository.findGeneration(name).orElse(0L);
+    }
+
+    private void bump(String name) {
+        try {
+            if (catalogGenerationRepository.increment(name) == 0) {
+                logger.warn("Catalog generation '{}' is missing; list ETags will not change", name);
+            }
+        } catch (Exception e) {
+            logger.error("Error bumping catalog generation '{}'", name, e);
+        }
+    }
+
+    // Microseconds, the resolution the database keeps
+    private static long stamp(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static String etag(String resource, long version) {
+        return "\"" + resource + "-" + Long.toString(version, 36) + "\"";
+    }
+}
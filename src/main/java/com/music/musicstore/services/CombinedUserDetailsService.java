@@ -1,5 +1,6 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.models.users.UserIdentity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -11,30 +12,36 @@ public class CombinedUserDetailsService implements UserDetailsService {
     private final CustomerService customerService;
     private final ArtistService artistService;
     private final StaffService staffService;
+    private final UserIdentityService userIdentityService;
+    private final UserDetailsCache userDetailsCache;
 
     public CombinedUserDetailsService(AdminService adminService, CustomerService customerService,
-                                      ArtistService artistService, StaffService staffService) {
+                                      ArtistService artistService, StaffService staffService,
+                                      UserIdentityService userIdentityService, UserDetailsCache userDetailsCache) {
         this.adminService = adminService;
         this.customerService = customerService;
         this.artistService = artistService;
         this.staffService = staffService;
+        this.userIdentityService = userIdentityService;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Try each service in order of privilege
-        try {
-            return adminService.loadUserByUsername(username);
-        } catch (UsernameNotFoundException e1) {
-            try {
-                return staffService.loadUserByUsername(username);
-            } catch (UsernameNotFoundException e2) {
-                try {
-                    return artistService.loadUserByUsername(username);
-                } catch (UsernameNotFoundException e3) {
-                    return customerService.loadUserByUsername(username);
-                }
-            }
+        // Cached snapshots skip the identity lookup as well
+        UserDetails cached = userDetailsCache.get(username);
+        if (cached != null) {
+            return cached;
         }
+
+        // One indexed read tells us which table owns the username; a miss is final
+        UserIdentity identity = userIdentityService.resolve(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        return switch (identity.getRole()) {
+            case "ADMIN" -> adminService.loadUserByUsername(username);
+            case "STAFF" -> staffService.loadUserByUsername(username);
+            case "ARTIST" -> artistService.loadUserByUsername(username);
+            default -> customerService.loadUserByUsername(username);
+        };
     }
 }
@@ -1,11 +1,13 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.configs.TokenUserDetails;
 import com.music.musicstore.models.users.Customer;
 import com.music.musicstore.repositories.CustomerRepository;
 import com.music.musicstore.exceptions.ResourceNotFoundException;
 import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.exceptions.BusinessRuleException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -23,11 +25,19 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityService userIdentityService;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CustomerService(CustomerRepository customerRepository, PasswordEncoder passwordEncoder) {
+    public CustomerService(CustomerRepository customerRepository, PasswordEncoder passwordEncoder,
+                         UserIdentityService userIdentityService, UserDetailsCache userDetailsCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.customerRepository = customerRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userIdentityService = userIdentityService;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
         logger.info("CustomerService initialized successfully");
     }
 
@@ -39,6 +49,11 @@ public class CustomerService {
             throw new ValidationException("Username cannot be null or empty");
         }
 
+        TokenUserDetails cached = userDetailsCache.get(username, "ROLE_CUSTOMER");
+        if (cached != null) {
+            return cached;
+        }
+
         Optional<Customer> customerOpt = customerRepository.findByUsername(username);
         if (customerOpt.isEmpty()) {
             // Don't log this as error since CombinedUserDetailsService expects this to fail for non-customer users
@@ -48,7 +63,10 @@ public class CustomerService {
 
         Customer customer = customerOpt.get();
         logger.info("Successfully loaded user: {}", username);
-        return customer;
+        // Cache a detached snapshot rather than the entity and its lazy collections
+        TokenUserDetails snapshot = TokenUserDetails.snapshot(customer.getId(), customer);
+        userDetailsCache.put(snapshot);
+        return snapshot;
     }
 
     public Customer findByUsername(String username) {
@@ -114,6 +132,7 @@ public class CustomerService {
 
             // Password is already encoded in UnifiedUserService, so don't encode it again
             Customer savedCustomer = customerRepository.save(customer);
+            userIdentityService.register(savedCustomer.getUsername(), "CUSTOMER", savedCustomer.getId());
 
             logger.info("Successfully created customer: {}", savedCustomer.getUsername());
             return savedCustomer;
@@ -183,6 +202,7 @@ public class CustomerService {
         }
     }
 
+    @Transactional
     public void deleteCustomer(Long id) {
         logger.debug("Deleting customer with ID: {}", id);
 
@@ -200,6 +220,8 @@ public class CustomerService {
             }
 
             customerRepository.deleteById(id);
+            userIdentityService.remove(customer.get().getUsername());
+            eventPublisher.publishEvent(new UserAccountChangedEvent(customer.get().getUsername()));
             logger.info("Successfully deleted customer with ID: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting customer with ID: {}", id, e);
@@ -232,6 +254,7 @@ public class CustomerService {
             }
 
             Customer updatedCustomer = customerRepository.save(customer);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(existingCustomer.getUsername()));
             logger.info("Successfully updated customer: {} (ID: {})", updatedCustomer.getUsername(), updatedCustomer.getId());
         } catch (Exception e) {
             logger.error("Error updating customer: {}", customer.getUsername(), e);
@@ -1,21 +1,64 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.models.MediaBlob;
+import com.music.musicstore.repositories.AlbumRepository;
+import com.music.musicstore.repositories.MediaBlobRepository;
+import com.music.musicstore.repositories.MusicRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.UUID;
 
+/**
+ * Stores uploads under a random UUID name, or, with file.content-addressed=true, under the
+ * SHA-256 of their bytes: identical uploads (re-uploads, the same cover on every track) share
+ * one file, reference-counted in media_blobs. Such a shared file is only removed once no music or
+ * album row refers to it any more, whatever the count says.
+ */
 @Service
 public class FileStorageService {
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    @Value("${file.content-addressed:false}")
+    private boolean contentAddressed;
+
+    @Autowired
+    private MediaRegistry mediaRegistry;
+
+    @Autowired
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Autowired
+    private MusicRepository musicRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    // Serialises store and delete of the same blob, so a last-reference delete cannot remove
+    // a file a concurrent upload has just counted on
+    private final Object[] blobLocks = new Object[64];
+
+    {
+        for (int i = 0; i < blobLocks.length; i++) {
+            blobLocks[i] = new Object();
+        }
+    }
+
     public String storeFile(MultipartFile file) throws IOException {
         // Backwards compatible: store into configured uploadDir
         return storeFile(file, null);
@@ -23,27 +66,7 @@ public class FileStorageService {
 
     // New: allow storing into a subfolder (e.g., "music" or "covers").
     public String storeFile(MultipartFile file, String subFolder) throws IOException {
-        Path basePath = Paths.get(uploadDir).toAbsolutePath().normalize();
-
-        Path uploadPath;
-        if (subFolder == null || subFolder.isBlank()) {
-            uploadPath = basePath;
-        } else {
-            // If configured uploadDir already points to a 'music' folder (common in this project),
-            // use its parent as base so resolving subFolder yields src/.../uploads/<subFolder>
-            Path fileName = basePath.getFileName();
-            if (fileName != null && fileName.toString().equalsIgnoreCase("music")) {
-                Path parent = basePath.getParent();
-                if (parent != null) {
-                    uploadPath = parent.resolve(subFolder).toAbsolutePath().normalize();
-                } else {
-                    uploadPath = basePath.resolveSibling(subFolder).toAbsolutePath().normalize();
-                }
-            } else {
-                // normal case: treat uploadDir as base and append subFolder
-                uploadPath = basePath.resolve(subFolder).toAbsolutePath().normalize();
-            }
-        }
+        Path uploadPath = uploadDirectory(uploadDir, subFolder);
 
         Files.createDirectories(uploadPath);
 
@@ -54,63 +77,117 @@ public class FileStorageService {
             extension = originalFilename.substring(originalFilename.lastIndexOf("."));
         }
 
+        if (contentAddressed) {
+            return storeByDigest(file, uploadPath, extension.toLowerCase(Locale.ROOT));
+        }
+
         String uniqueFilename = UUID.randomUUID() + extension;
 
         Path filePath = uploadPath.resolve(uniqueFilename);
         // Use REPLACE_EXISTING to be explicit; Files.copy will close streams
         Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        mediaRegistry.register(filePath);
 
         return uniqueFilename;
     }
 
-    // Delete stored file (returns true if deleted)
-    public boolean deleteFile(String filename) {
-        if (filename == null || filename.trim().isEmpty()) return false;
+    // Hashes while streaming into a temp file, then keeps one file per digest
+    private String storeByDigest(MultipartFile file, Path uploadPath, String extension) throws IOException {
+        Path temp = Files.createTempFile(uploadPath, ".upload-", ".tmp");
         try {
-            Path basePath = Paths.get(uploadDir).toAbsolutePath().normalize();
-
-            // Candidate locations to attempt deletion from (ordered):
-            // 1) configured uploadDir/<filename>
-            // 2) parent-of-configured-upload-dir/covers/<filename>
-            // 3) ./uploads/music/<filename>
-            // 4) ./uploads/covers/<filename>
-            // 5) target/classes/static/uploads/music/<filename>
-            // 6) target/classes/static/uploads/covers/<filename>
-
-            Path p1 = basePath.resolve(filename).normalize();
-            if (Files.exists(p1)) {
-                return Files.deleteIfExists(p1);
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
             }
+            String name = HexFormat.of().formatHex(digest.digest()) + extension;
+            Path target = uploadPath.resolve(name);
 
-            Path parent = basePath.getParent();
-            if (parent != null) {
-                Path pCovers = parent.resolve("covers").resolve(filename).normalize();
-                if (Files.exists(pCovers)) {
-                    return Files.deleteIfExists(pCovers);
+            synchronized (blobLock(name)) {
+                if (!Files.exists(target)) {
+                    // Same folder, so the move is a rename: readers never see a partial blob
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
                 }
+                if (mediaBlobRepository.incrementRefCount(name, LocalDateTime.now()) == 0) {
+                    mediaBlobRepository.save(new MediaBlob(name, Files.size(target)));
+                }
+                mediaRegistry.register(target);
             }
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
 
-            Path p3 = Paths.get("./uploads/music").toAbsolutePath().normalize().resolve(filename);
-            if (Files.exists(p3)) {
-                return Files.deleteIfExists(p3);
-            }
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
 
-            Path p4 = Paths.get("./uploads/covers").toAbsolutePath().normalize().resolve(filename);
-            if (Files.exists(p4)) {
-                return Files.deleteIfExists(p4);
-            }
+    private Object blobLock(String name) {
+        return blobLocks[(name.hashCode() & 0x7fffffff) % blobLocks.length];
+    }
 
-            Path p5 = Paths.get("target/classes/static/uploads/music").toAbsolutePath().normalize().resolve(filename);
-            if (Files.exists(p5)) {
-                return Files.deleteIfExists(p5);
+    // Folder a subfolder's files are stored in; shared with MediaRegistry so both agree
+    static Path uploadDirectory(String uploadDir, String subFolder) {
+        Path basePath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        if (subFolder == null || subFolder.isBlank()) {
+            return basePath;
+        }
+        // If configured uploadDir already points to a 'music' folder (common in this project),
+        // use its parent as base so resolving subFolder yields src/.../uploads/<subFolder>
+        Path fileName = basePath.getFileName();
+        if (fileName != null && fileName.toString().equalsIgnoreCase("music")) {
+            Path parent = basePath.getParent();
+            if (parent != null) {
+                return parent.resolve(subFolder).toAbsolutePath().normalize();
             }
+            return basePath.resolveSibling(subFolder).toAbsolutePath().normalize();
+        }
+        // normal case: treat uploadDir as base and append subFolder
+        return basePath.resolve(subFolder).toAbsolutePath().normalize();
+    }
 
-            Path p6 = Paths.get("target/classes/static/uploads/covers").toAbsolutePath().normalize().resolve(filename);
-            if (Files.exists(p6)) {
-                return Files.deleteIfExists(p6);
+    // Delete stored file (returns true if deleted, or if the file is still in use and was kept).
+    // Call it after the row that referenced the file is gone.
+    public boolean deleteFile(String filename) {
+        if (filename == null || filename.trim().isEmpty()) return false;
+        try {
+            // One lookup in the registry instead of probing each upload folder
+            MediaRegistry.Entry entry = mediaRegistry.find(filename);
+            if (entry == null || !entry.isFile()) {
+                // Unknown, or packaged inside the jar and so not deletable
+                return false;
+            }
+            String name = entry.getName();
+            synchronized (blobLock(name)) {
+                // Blobs lose one reference; UUID-named files have no blob row
+                LocalDateTime now = LocalDateTime.now();
+                boolean blob = contentAddressed && mediaBlobRepository.decrementRefCount(name, now) > 0;
+                if (blob && mediaBlobRepository.findById(name).map(MediaBlob::getRefCount).orElse(0) > 0) {
+                    return true;
+                }
+                // Digest names can be shared by rows the count never saw (imports, edited URLs), so ask
+                // the catalog before removing the file. UUID names are never shared: skip the scan.
+                long references = contentAddressed
+                        ? musicRepository.countByAudioFilePathEndingWithOrImageUrlEndingWith(name, name)
+                                + albumRepository.countByCoverImageUrlEndingWith(name)
+                        : 0;
+                if (references > 0) {
+                    if (blob) {
+                        mediaBlobRepository.setRefCount(name, (int) Math.min(references, Integer.MAX_VALUE), now);
+                    }
+                    return true;
+                }
+                if (blob) {
+                    mediaBlobRepository.deleteUnreferenced(name);
+                }
+                mediaRegistry.unregister(name);
+                return Files.deleteIfExists(entry.getPath());
             }
-
-            return false;
         } catch (Exception e) {
             // Log can't be used directly here (no logger) to keep change minimal; caller can log
             return false;
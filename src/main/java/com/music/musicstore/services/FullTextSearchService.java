@@ -0,0 +1,118 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.dto.SearchHit;
+import com.music.musicstore.exceptions.BusinessRuleException;
+import com.music.musicstore.exceptions.ValidationException;
+import com.music.musicstore.models.music.Album;
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.models.support.Ticket;
+import com.music.musicstore.repositories.AlbumRepository;
+import com.music.musicstore.repositories.FullTextHit;
+import com.music.musicstore.repositories.MusicRepository;
+import com.music.musicstore.repositories.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked search backed by PostgreSQL tsvector and pg_trgm indexes (add_full_text_search.sql).
+ * Unlike MusicSearchIndex it shares state through the database, so it suits multi-node
+ * deployments. Enabled with search.backend=postgres.
+ */
+@Service
+public class FullTextSearchService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MusicRepository musicRepository;
+    private final AlbumRepository albumRepository;
+    private final TicketRepository ticketRepository;
+    private final boolean enabled;
+
+    @Autowired
+    public FullTextSearchService(MusicRepository musicRepository,
+                                 AlbumRepository albumRepository,
+                                 TicketRepository ticketRepository,
+                                 @Value("${search.backend:memory}") String backend) {
+        this.musicRepository = musicRepository;
+        this.albumRepository = albumRepository;
+        this.ticketRepository = ticketRepository;
+        this.enabled = "postgres".equalsIgnoreCase(backend.trim());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Page<SearchHit<Music>> searchMusic(String query, int page, int size) {
+        PageRequest pageable = pageRequest(query, page, size);
+        Page<FullTextHit> hits = musicRepository.searchFullText(query.trim(), pageable);
+        return new PageImpl<>(resolve(hits.getContent(), musicRepository, Music::getId), pageable, hits.getTotalElements());
+    }
+
+    public Page<SearchHit<Album>> searchAlbums(String query, int page, int size) {
+        PageRequest pageable = pageRequest(query, page, size);
+        Page<FullTextHit> hits = albumRepository.searchFullText(query.trim(), pageable);
+        return new PageImpl<>(resolve(hits.getContent(), albumRepository, Album::getId), pageable, hits.getTotalElements());
+    }
+
+    public List<SearchHit<Ticket>> searchTickets(String query, int limit) {
+        checkQuery(query);
+        if (limit <= 0) {
+            throw new ValidationException("Result limit must be positive");
+        }
+        List<FullTextHit> hits = ticketRepository.searchFullText(query.trim(), Math.min(limit, MAX_PAGE_SIZE));
+        return resolve(hits, ticketRepository, Ticket::getId);
+    }
+
+    private PageRequest pageRequest(String query, int page, int size) {
+        checkQuery(query);
+        if (page < 0) {
+            throw new ValidationException("Page number cannot be negative");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Page size must be positive");
+        }
+        // Ordering comes from the query's rank, so the request carries no Sort
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private void checkQuery(String query) {
+        if (!enabled) {
+            throw new BusinessRuleException("Full-text search is not enabled (search.backend=postgres)");
+        }
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query cannot be null or empty");
+        }
+    }
+
+    // Loads the ranked ids in one query and keeps the database's rank order
+    private static <T> List<SearchHit<T>> resolve(List<FullTextHit> hits, JpaRepository<T, Long> repository,
+                                                  Function<T, Long> idOf) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream().map(FullTextHit::getId).collect(Collectors.toList());
+        Map<Long, T> byId = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+
+        List<SearchHit<T>> results = new ArrayList<>(hits.size());
+        for (FullTextHit hit : hits) {
+            T item = byId.get(hit.getId());
+            // A row deleted between the two queries is simply skipped
+            if (item != null) {
+                results.add(new SearchHit<>(item, hit.getRank() != null ? hit.getRank() : 0.0, hit.getSnippet()));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,119 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.dto.CursorPage;
+import com.music.musicstore.exceptions.ValidationException;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over a (timestamp, id) pair. Each page is
+ * "WHERE (key, id) < (:key, :id) ORDER BY key, id LIMIT size + 1", so its cost does not depend
+ * on how deep the client has paged, and no COUNT(*) runs unless the total is asked for.
+ */
+final class KeysetPager<T> {
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final String keyProperty;
+    private final Function<T, LocalDateTime> keyOf;
+    private final Function<T, Long> idOf;
+
+    KeysetPager(String keyProperty, Function<T, LocalDateTime> keyOf, Function<T, Long> idOf) {
+        this.keyProperty = keyProperty;
+        this.keyOf = keyOf;
+        this.idOf = idOf;
+    }
+
+    CursorPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                        String cursor, int size, Sort.Direction direction, boolean includeTotal) {
+        return seek(repository, filter, cursor, size, direction, includeTotal, query -> query, keyOf, idOf);
+    }
+
+    /**
+     * Same page, selected as an interface projection (like MusicSummary) so only its columns are read
+     */
+    <R> CursorPage<R> fetchAs(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                              String cursor, int size, Sort.Direction direction, boolean includeTotal,
+                              Class<R> projection, Function<R, LocalDateTime> projectedKey,
+                              Function<R, Long> projectedId) {
+        return seek(repository, filter, cursor, size, direction, includeTotal,
+                query -> query.as(projection), projectedKey, projectedId);
+    }
+
+    private <R> CursorPage<R> seek(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                   String cursor, int size, Sort.Direction direction, boolean includeTotal,
+                                   Function<FetchableFluentQuery<T>, FetchableFluentQuery<R>> select,
+                                   Function<R, LocalDateTime> rowKey, Function<R, Long> rowId) {
+        if (size <= 0) {
+            throw new ValidationException("Page size must be positive");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+
+        // Rows without a sort key cannot be positioned, so they are left out of keyset listings
+        Specification<T> keyed = Specification.allOf(filter, (root, query, cb) -> cb.isNotNull(root.get(keyProperty)));
+        Specification<T> seek = cursor == null || cursor.isBlank()
+                ? keyed
+                : Specification.allOf(keyed, after(decode(cursor), direction));
+        Sort sort = Sort.by(direction, keyProperty).and(Sort.by(direction, "id"));
+
+        // One extra row tells us whether there is a next page without counting
+        List<R> rows = repository.findBy(seek, query -> select.apply(query).sortBy(sort).limit(pageSize + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            R last = rows.get(pageSize - 1);
+            nextCursor = encode(rowKey.apply(last), rowId.apply(last));
+        }
+
+        Long total = includeTotal ? repository.count(keyed) : null;
+        return new CursorPage<>(rows, nextCursor, pageSize, total);
+    }
+
+    private Specification<T> after(Position position, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> key = root.get(keyProperty);
+            Path<Long> id = root.get("id");
+            if (direction == Sort.Direction.DESC) {
+                return cb.or(cb.lessThan(key, position.key),
+                        cb.and(cb.equal(key, position.key), cb.lessThan(id, position.id)));
+            }
+            return cb.or(cb.greaterThan(key, position.key),
+                    cb.and(cb.equal(key, position.key), cb.greaterThan(id, position.id)));
+        };
+    }
+
+    private static String encode(LocalDateTime key, Long id) {
+        String raw = key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private static final class Position {
+        final LocalDateTime key;
+        final Long id;
+
+        Position(LocalDateTime key, Long id) {
+            this.key = key;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.music.musicstore.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where every stored media file (audio and covers) lives, with its size, type and mtime, keyed
+ * by stored file name. Built once at startup from the upload folders and the classpath, and
+ * kept current by FileStorageService, so downloads and deletes are a map lookup instead of
+ * probing each folder on disk. Stored names are unique (UUIDs), so files never change in place.
+ */
+@Service
+public class MediaRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(MediaRegistry.class);
+
+    // Names kept before the miss cache is simply dropped, so random lookups cannot grow it without bound
+    private static final int MAX_MISSES = 10_000;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    // How long a name that probed as missing is answered from memory instead of the disk
+    @Value("${media-registry.miss-ttl-ms:30000}")
+    private long missTtlMillis = 30_000;
+
+    // Search order when the same name exists in several places: first root wins
+    private final List<Path> roots = new ArrayList<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Name -> time (ms) until which it is known to be absent
+    private final Map<String, Long> missing = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder cachedMisses = new LongAdder();
+
+    /**
+     * A stored file: a path on disk, or a resource packaged in the jar (read-only)
+     */
+    public static final class Entry {
+        private final String name;
+        private final Path path;
+        private final URL resource;
+        private final long size;
+        private final long lastModified;
+        private final String contentType;
+
+        Entry(String name, Path path, URL resource, long size, long lastModified, String contentType) {
+            this.name = name;
+            this.path = path;
+            this.resource = resource;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+        }
+
+        public String getName() { return name; }
+        public Path getPath() { return path; }
+        public URL getResource() { return resource; }
+        public long getSize() { return size; }
+        public long getLastModified() { return lastModified; }
+        public String getContentType() { return contentType; }
+        public boolean isFile() { return path != null; }
+    }
+
+    @PostConstruct
+    public void scan() {
+        long start = System.currentTimeMillis();
+        roots.clear();
+        addRoot(FileStorageService.uploadDirectory(uploadDir, null));
+        for (String subFolder : new String[]{"music", "covers"}) {
+            addRoot(FileStorageService.uploadDirectory(uploadDir, subFolder));
+            addRoot(Paths.get("./uploads", subFolder));
+            addRoot(Paths.get("target/classes/static/uploads", subFolder));
+            addRoot(Paths.get("src/main/resources/static/uploads", subFolder));
+        }
+
+        entries.clear();
+        missing.clear();
+        // Later roots must not shadow earlier ones, so walk them in reverse and let earlier ones overwrite
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            scanDirectory(roots.get(i));
+        }
+        scanClasspath();
+        logger.info("Indexed {} media files from {} folders in {} ms", entries.size(), roots.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * The entry for a stored path or URL ('/uploads/music/x.mp3', 'static/uploads/covers/y.jpg',
+     * or a bare name). Files that appeared behind the application's back are found by probing the
+     * folders once and are indexed from then on; a name that is not found anywhere is not probed
+     * again for media-registry.miss-ttl-ms.
+     */
+    public Entry find(String storedPath) {
+        String name = fileName(storedPath);
+        if (name == null) {
+            return null;
+        }
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+        long now = System.currentTimeMillis();
+        Long absentUntil = missing.get(name);
+        if (absentUntil != null && absentUntil > now) {
+            cachedMisses.increment();
+            return null;
+        }
+        misses.increment();
+        entry = probe(storedPath, name);
+        if (entry != null) {
+            missing.remove(name);
+            entries.put(name, entry);
+        } else if (missTtlMillis > 0) {
+            if (missing.size() >= MAX_MISSES) {
+                missing.clear();
+            }
+            missing.put(name, now + missTtlMillis);
+        }
+        return entry;
+    }
+
+    /**
+     * Records a file the application has just written
+     */
+    public Entry register(Path file) throws IOException {
+        Entry entry = fileEntry(file.getFileName().toString(), file.toRealPath(),
+                Files.readAttributes(file, BasicFileAttributes.class));
+        missing.remove(entry.name);
+        entries.put(entry.name, entry);
+        return entry;
+    }
+
+    public void unregister(String name) {
+        if (name != null) {
+            entries.remove(name);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("cachedMisses", cachedMisses.sum());
+        stats.put("roots", roots.stream().map(Path::toString).toList());
+        return stats;
+    }
+
+    /**
+     * Last path segment of a stored path or URL
+     */
+    public static String fileName(String storedPath) {
+        if (storedPath == null || storedPath.isBlank()) {
+            return null;
+        }
+        String normalized = storedPath.trim().replace('\\', '/');
+        int slash = normalized.lastIndexOf('/');
+        String name = slash >= 0 ? normalized.substring(slash + 1) : normalized;
+        return name.isEmpty() || name.equals("..") || name.equals(".") ? null : name;
+    }
+
+    private void addRoot(Path root) {
+        Path normalized = root.toAbsolutePath().normalize();
+        if (!roots.contains(normalized)) {
+            roots.add(normalized);
+        }
+    }
+
+    private void scanDirectory(Path root) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    Entry entry = fileEntry(file.getFileName().toString(), file.toRealPath(), attributes);
+                    entries.put(entry.name, entry);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not index media folder {}: {}", root, e.getMessage());
+        }
+    }
+
+    // Packaged runs: media shipped inside the jar, only where no file on disk has the name
+    private void scanClasspath() {
+        try {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            for (String pattern : new String[]{"classpath*:/static/uploads/music/*", "classpath*:/static/uploads/covers/*"}) {
+                for (Resource resource : resolver.getResources(pattern)) {
+                    String name = resource.getFilename();
+                    if (name == null || entries.containsKey(name) || resource.isFile()) {
+                        continue;
+                    }
+                    URL url = resource.getURL();
+                    URLConnection connection = url.openConnection();
+                    long size = connection.getContentLengthLong();
+                    if (size >= 0) {
+                        entries.put(name, new Entry(name, null, url, size, connection.getLastModified(), contentType(name, null)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not index packaged media: {}", e.getMessage());
+        }
+    }
+
+    private Entry probe(String storedPath, String name) {
+        List<Path> candidates = new ArrayList<>();
+        try {
+            candidates.add(Paths.get(storedPath.trim()));
+        } catch (InvalidPathException e) {
+            // Not a usable path; the folders below may still have the name
+        }
+        for (Path root : roots) {
+            candidates.add(root.resolve(name));
+        }
+        for (Path candidate : candidates) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(candidate, BasicFileAttributes.class);
+                if (attributes.isRegularFile() && fileName(candidate.toString()).equals(name)) {
+                    return fileEntry(name, candidate.toRealPath(), attributes);
+                }
+            } catch (IOException e) {
+                // Not here
+            }
+        }
+        return null;
+    }
+
+    // Keyed by the stored name; the path is the canonical one (symlinks resolved)
+    private static Entry fileEntry(String name, Path file, BasicFileAttributes attributes) {
+        return new Entry(name, file, null, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                contentType(name, file));
+    }
+
+    private static String contentType(String name, Path file) {
+        String contentType = URLConnection.guessContentTypeFromName(name.toLowerCase());
+        if (contentType == null && file != null) {
+            try {
+                contentType = Files.probeContentType(file);
+            } catch (IOException e) {
+                // Unknown
+            }
+        }
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+}
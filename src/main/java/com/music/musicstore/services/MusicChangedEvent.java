@@ -0,0 +1,37 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+
+/**
+ * Published after a music row is saved or deleted, so in-memory views of the catalog can follow
+ */
+public class MusicChangedEvent {
+    private final Long musicId;
+    private final Music music;
+
+    private MusicChangedEvent(Long musicId, Music music) {
+        this.musicId = musicId;
+        this.music = music;
+    }
+
+    public static MusicChangedEvent saved(Music music) {
+        return new MusicChangedEvent(music.getId(), music);
+    }
+
+    public static MusicChangedEvent deleted(Long musicId) {
+        return new MusicChangedEvent(musicId, null);
+    }
+
+    public Long getMusicId() {
+        return musicId;
+    }
+
+    // The saved state, or null when the row was deleted
+    public Music getMusic() {
+        return music;
+    }
+
+    public boolean isDeleted() {
+        return music == null;
+    }
+}
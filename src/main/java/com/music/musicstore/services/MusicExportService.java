@@ -0,0 +1,193 @@
+package com.music.musicstore.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.music.musicstore.exceptions.ValidationException;
+import com.music.musicstore.repositories.MusicExportRow;
+import com.music.musicstore.repositories.MusicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Whole-catalog export as NDJSON or CSV. Rows come from a database cursor (fetch size on the
+ * query) and are written to the output one at a time, so memory use does not grow with the
+ * catalog.
+ */
+@Service
+public class MusicExportService {
+    private static final Logger logger = LoggerFactory.getLogger(MusicExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Unsupported format: " + value + ". Allowed: ndjson, csv");
+            }
+        }
+
+        // Format named by a file's extension (catalog.csv, back-catalog.ndjson)
+        public static Format forFileName(String fileName) {
+            int dot = fileName != null ? fileName.lastIndexOf('.') : -1;
+            return parse(dot >= 0 ? fileName.substring(dot + 1) : fileName);
+        }
+    }
+
+    // Column order shared by both formats
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", MusicExportRow::getId),
+            new Column("name", MusicExportRow::getName),
+            new Column("artist", MusicExportRow::getArtistUsername),
+            new Column("album", MusicExportRow::getAlbumName),
+            new Column("genre", MusicExportRow::getGenre),
+            new Column("category", MusicExportRow::getCategory),
+            new Column("releaseYear", MusicExportRow::getReleaseYear),
+            new Column("price", MusicExportRow::getPrice),
+            new Column("averageRating", MusicExportRow::getAverageRating),
+            new Column("totalReviews", MusicExportRow::getTotalReviews),
+            new Column("description", MusicExportRow::getDescription),
+            new Column("imageUrl", MusicExportRow::getImageUrl),
+            new Column("createdAt", MusicExportRow::getCreatedAt),
+            new Column("updatedAt", MusicExportRow::getUpdatedAt),
+            new Column("flagged", MusicExportRow::getFlagged));
+
+    private final MusicRepository musicRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Autowired
+    public MusicExportService(MusicRepository musicRepository) {
+        this.musicRepository = musicRepository;
+    }
+
+    /**
+     * Writes every track to the stream and returns the number of rows written. The caller owns
+     * the stream; it is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        // PostgreSQL only honours the fetch size inside a transaction, hence @Transactional
+        try (Stream<MusicExportRow> stream = musicRepository.streamForExport()) {
+            Iterator<MusicExportRow> iterator = stream.iterator();
+            if (format == Format.CSV) {
+                writeCsvHeader(writer);
+            }
+            while (iterator.hasNext()) {
+                MusicExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writeJsonRow(writer, row);
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+
+        logger.info("Exported {} tracks as {} in {} ms", rows, format, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private void writeJsonRow(Writer writer, MusicExportRow row) throws IOException {
+        // The generator must not close the shared writer
+        JsonGenerator json = jsonFactory.createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        for (Column column : COLUMNS) {
+            Object value = column.extractor.apply(row);
+            json.writeFieldName(column.name);
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof Boolean bool) {
+                json.writeBoolean(bool);
+            } else if (value instanceof BigDecimal decimal) {
+                json.writeNumber(decimal);
+            } else if (value instanceof Number number) {
+                json.writeNumber(number.longValue());
+            } else {
+                json.writeString(value.toString());
+            }
+        }
+        json.writeEndObject();
+        json.close();
+        writer.write('\n');
+    }
+
+    private static void writeCsvHeader(Writer writer) throws IOException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS.get(i).name);
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvRow(Writer writer, MusicExportRow row) throws IOException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = COLUMNS.get(i).extractor.apply(row);
+            if (value != null) {
+                writer.write(csvField(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break; double embedded quotes
+    private static String csvField(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static final class Column {
+        final String name;
+        final Function<MusicExportRow, Object> extractor;
+
+        Column(String name, Function<MusicExportRow, Object> extractor) {
+            this.name = name;
+            this.extractor = extractor;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.exceptions.ValidationException;
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.MusicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts for catalog browsing. Keeps one RoaringBitmap of music ids per facet value, so
+ * the counts for any filter combination are bitmap intersections and cardinalities instead of
+ * GROUP BY scans. Kept current through MusicChangedEvent.
+ */
+@Service
+public class MusicFacetIndex {
+    private static final Logger logger = LoggerFactory.getLogger(MusicFacetIndex.class);
+
+    public static final String GENRE = "genre";
+    public static final String CATEGORY = "category";
+    public static final String YEAR = "year";
+    public static final String PRICE = "price";
+    public static final String RATING = "rating";
+
+    private static final String[] FACETS = {GENRE, CATEGORY, YEAR, PRICE, RATING};
+
+    // Upper bounds (exclusive) of the price buckets; anything above the last falls in "20+"
+    private static final BigDecimal[] PRICE_LIMITS = {
+            new BigDecimal("1"), new BigDecimal("5"), new BigDecimal("10"), new BigDecimal("20")};
+    private static final String[] PRICE_BUCKETS = {"0-0.99", "1-4.99", "5-9.99", "10-19.99", "20+"};
+    private static final String UNRATED = "unrated";
+
+    private final MusicRepository musicRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RoaringBitmap all = new RoaringBitmap();
+    private final Map<String, Map<String, RoaringBitmap>> facets = new LinkedHashMap<>();
+    private final Map<Long, String[]> valuesById = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @Autowired
+    public MusicFacetIndex(MusicRepository musicRepository) {
+        this.musicRepository = musicRepository;
+        for (String facet : FACETS) {
+            facets.put(facet, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<Music> catalog = musicRepository.findAll();
+            lock.writeLock().lock();
+            try {
+                facets.values().forEach(Map::clear);
+                valuesById.clear();
+                all = new RoaringBitmap();
+                for (Music music : catalog) {
+                    add(music);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Built music facet index: {} tracks in {} ms", catalog.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error building music facet index", e);
+        }
+    }
+
+    @EventListener
+    public void onMusicChanged(MusicChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getMusicId());
+            if (!event.isDeleted()) {
+                add(event.getMusic());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onMusicImported(MusicImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Music music : event.getMusic()) {
+                remove(music.getId());
+                add(music);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Counts per facet value for tracks matching the filters (facet name to selected value).
+     * Each facet's own filter is left out when counting that facet, so the client can show
+     * how many results every alternative value would give.
+     */
+    public Map<String, Object> facetCounts(Map<String, String> filters) {
+        for (String facet : filters.keySet()) {
+            if (!facets.containsKey(facet)) {
+                throw new ValidationException("Unknown facet: " + facet);
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                RoaringBitmap base = matching(filters, facet);
+                List<Map.Entry<String, Long>> values = new ArrayList<>();
+                for (Map.Entry<String, RoaringBitmap> value : facets.get(facet).entrySet()) {
+                    long count = base == null ? value.getValue().cardinality() : base.andCardinality(value.getValue());
+                    if (count > 0) {
+                        values.add(Map.entry(value.getKey(), count));
+                    }
+                }
+                values.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+                Map<String, Long> ordered = new LinkedHashMap<>();
+                values.forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+                counts.put(facet, ordered);
+            }
+
+            RoaringBitmap selected = matching(filters, null);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("total", selected == null ? all.cardinality() : selected.cardinality());
+            result.put("facets", counts);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("ready", ready);
+            stats.put("tracks", all.cardinality());
+            Map<String, Integer> values = new LinkedHashMap<>();
+            facets.forEach((facet, bitmaps) -> values.put(facet, bitmaps.size()));
+            stats.put("facetValues", values);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Intersection of every filter except the excluded facet; null means "no restriction"
+    private RoaringBitmap matching(Map<String, String> filters, String excludedFacet) {
+        RoaringBitmap result = null;
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            if (filter.getKey().equals(excludedFacet)) {
+                continue;
+            }
+            RoaringBitmap bitmap = facets.get(filter.getKey()).get(filter.getValue());
+            if (bitmap == null) {
+                return new RoaringBitmap();
+            }
+            result = result == null ? bitmap : result.and(bitmap);
+        }
+        return result;
+    }
+
+    private void add(Music music) {
+        if (music == null || music.getId() == null) {
+            return;
+        }
+        String[] values = {
+                trimToNull(music.getGenre()),
+                trimToNull(music.getCategory()),
+                music.getReleaseYear() != null ? music.getReleaseYear().toString() : null,
+                priceBucket(music.getPrice()),
+                ratingBucket(music)
+        };
+        for (int i = 0; i < FACETS.length; i++) {
+            if (values[i] != null) {
+                facets.get(FACETS[i]).computeIfAbsent(values[i], v -> new RoaringBitmap()).add(music.getId());
+            }
+        }
+        valuesById.put(music.getId(), values);
+        all.add(music.getId());
+    }
+
+    private void remove(Long musicId) {
+        String[] values = musicId != null ? valuesById.remove(musicId) : null;
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < FACETS.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            Map<String, RoaringBitmap> bitmaps = facets.get(FACETS[i]);
+            RoaringBitmap bitmap = bitmaps.get(values[i]);
+            bitmap.remove(musicId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(values[i]);
+            }
+        }
+        all.remove(musicId);
+    }
+
+    static String priceBucket(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        for (int i = 0; i < PRICE_LIMITS.length; i++) {
+            if (price.compareTo(PRICE_LIMITS[i]) < 0) {
+                return PRICE_BUCKETS[i];
+            }
+        }
+        return PRICE_BUCKETS[PRICE_BUCKETS.length - 1];
+    }
+
+    // Whole-star buckets ("4-5" means 4.00 to 5.00); tracks without reviews are "unrated"
+    static String ratingBucket(Music music) {
+        if (music.getTotalReviews() == null || music.getTotalReviews() == 0 || music.getAverageRating() == null) {
+            return UNRATED;
+        }
+        int stars = Math.min(4, Math.max(0, music.getAverageRating().intValue()));
+        return stars + "-" + (stars + 1);
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
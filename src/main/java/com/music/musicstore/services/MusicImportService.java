@@ -0,0 +1,407 @@
+package com.music.musicstore.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.musicstore.dto.MusicImportReport;
+import com.music.musicstore.exceptions.ValidationException;
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.ArtistRepository;
+import com.music.musicstore.repositories.MusicRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk catalog import from the same NDJSON / CSV layout the export writes (id, ratings and
+ * timestamps are ignored; every row becomes a new track). Rows are read in chunks, validated in
+ * parallel and each chunk is inserted in one transaction; with sequence ids Hibernate sends the
+ * inserts as JDBC batches. A chunk that fails to commit is retried row by row, so one bad row
+ * only costs itself.
+ */
+@Service
+public class MusicImportService {
+    private static final Logger logger = LoggerFactory.getLogger(MusicImportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "artist", "category", "price");
+
+    private final MusicRepository musicRepository;
+    private final ArtistRepository artistRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${catalog-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${catalog-import.max-errors:1000}")
+    private int maxErrors;
+
+    @Autowired
+    public MusicImportService(MusicRepository musicRepository, ArtistRepository artistRepository,
+                              PlatformTransactionManager transactionManager, Validator validator,
+                              ApplicationEventPublisher eventPublisher) {
+        this.musicRepository = musicRepository;
+        this.artistRepository = artistRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports every row of the stream. The caller owns the stream; it is not closed.
+     */
+    public MusicImportReport importMusic(MusicExportService.Format format, InputStream input) throws IOException {
+        long start = System.nanoTime();
+        MusicImportReport report = new MusicImportReport();
+        report.setFormat(format.getExtension());
+
+        Set<String> artists = artistRepository.findAllUsernamesAndIds().stream()
+                .map(row -> (String) row[0])
+                .collect(Collectors.toSet());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RecordReader records = format == MusicExportService.Format.CSV
+                ? new CsvRecordReader(reader)
+                : new NdjsonRecordReader(reader, objectMapper);
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while ((row = records.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, artists, report);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, artists, report);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        report.setElapsedMs(elapsedMs);
+        report.setRowsPerSecond(Math.round(report.getTotalRows() * 10_000.0 / Math.max(1, elapsedMs)) / 10.0);
+        logger.info("Imported {} of {} tracks ({} failed) in {} ms, {} rows/s", report.getImported(),
+                report.getTotalRows(), report.getFailed(), elapsedMs, report.getRowsPerSecond());
+        return report;
+    }
+
+    private void importChunk(List<ImportRow> chunk, Set<String> artists, MusicImportReport report) {
+        // Each row is only touched by one worker; the terminal operation publishes the results
+        chunk.parallelStream().forEach(row -> validate(row, artists));
+
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                addError(report, row.number, row.error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        List<Music> saved = persist(valid, report);
+        report.setTotalRows(report.getTotalRows() + chunk.size());
+        report.setImported(report.getImported() + saved.size());
+        report.setChunks(report.getChunks() + 1);
+
+        // One event per chunk, after the commit, so the in-memory indexes and caches only ever
+        // see stored rows and apply them in one pass
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new MusicImportedEvent(saved));
+        }
+    }
+
+    private List<Music> persist(List<ImportRow> rows, MusicImportReport report) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Music> batch = rows.stream().map(row -> row.music).collect(Collectors.toList());
+        try {
+            transactionTemplate.executeWithoutResult(status -> musicRepository.saveAll(batch));
+            return batch;
+        } catch (RuntimeException e) {
+            logger.warn("Import chunk of {} rows failed to commit, retrying row by row: {}", rows.size(), e.getMessage());
+        }
+
+        List<Music> saved = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            // The rolled-back attempt already assigned an id; clear it so the row is inserted again
+            row.music.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> musicRepository.save(row.music));
+                saved.add(row.music);
+            } catch (RuntimeException e) {
+                addError(report, row.number, "Could not be stored: " + rootMessage(e));
+            }
+        }
+        return saved;
+    }
+
+    private void validate(ImportRow row, Set<String> artists) {
+        if (row.error != null) {
+            return;
+        }
+        Map<String, String> fields = row.fields;
+        List<String> problems = new ArrayList<>();
+
+        Music music = new Music();
+        music.setName(trimToNull(fields.get("name")));
+        music.setArtistUsername(trimToNull(fields.get("artist")));
+        music.setAlbumName(trimToNull(fields.get("album")));
+        music.setGenre(trimToNull(fields.get("genre")));
+        music.setCategory(trimToNull(fields.get("category")));
+        music.setDescription(trimToNull(fields.get("description")));
+        music.setImageUrl(trimToNull(fields.get("imageUrl")));
+
+        String price = trimToNull(fields.get("price"));
+        if (price != null) {
+            try {
+                music.setPrice(new BigDecimal(price));
+            } catch (NumberFormatException e) {
+                problems.add("price: '" + price + "' is not a number");
+            }
+        }
+        String releaseYear = trimToNull(fields.get("releaseYear"));
+        if (releaseYear != null) {
+            try {
+                music.setReleaseYear(Integer.parseInt(releaseYear));
+            } catch (NumberFormatException e) {
+                problems.add("releaseYear: '" + releaseYear + "' is not a year");
+            }
+        }
+
+        for (ConstraintViolation<Music> violation : validator.validate(music)) {
+            String property = violation.getPropertyPath().toString();
+            // An unparsable value was already reported; don't add "is required" on top
+            if (problems.stream().noneMatch(problem -> problem.startsWith(property + ":"))) {
+                problems.add(property + ": " + violation.getMessage());
+            }
+        }
+        if (music.getArtistUsername() != null && !artists.contains(music.getArtistUsername())) {
+            problems.add("artist: unknown artist '" + music.getArtistUsername() + "'");
+        }
+
+        if (!problems.isEmpty()) {
+            // Validator order is unspecified; keep the message stable between runs
+            problems.sort(null);
+            row.error = String.join("; ", problems);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        music.setCreatedAt(now);
+        music.setUpdatedAt(now);
+        row.music = music;
+    }
+
+    private void addError(MusicImportReport report, long row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(new MusicImportReport.RowError(row, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static String stripBom(String value) {
+        return value.startsWith("\uFEFF") ? value.substring(1) : value;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    static final class ImportRow {
+        final long number;
+        final Map<String, String> fields;
+        String error;
+        Music music;
+
+        ImportRow(long number, Map<String, String> fields, String error) {
+            this.number = number;
+            this.fields = fields;
+            this.error = error;
+        }
+    }
+
+    interface RecordReader {
+        // Next data row, or null at the end of the input
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped
+     */
+    static final class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long rows;
+
+        NdjsonRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            rows++;
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(rows == 1 ? stripBom(line) : line);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(rows, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return new ImportRow(rows, null, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                fields.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText());
+            }
+            return new ImportRow(rows, fields, null);
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming the columns; quoted fields may span lines
+     */
+    static final class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final List<String> header;
+        private long rows;
+        private boolean unterminated;
+
+        CsvRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> names = readRecord();
+            if (names == null) {
+                throw new ValidationException("CSV file is empty");
+            }
+            header = new ArrayList<>(names.size());
+            for (String name : names) {
+                header.add(stripBom(name).trim());
+            }
+            List<String> missing = new ArrayList<>(REQUIRED_COLUMNS);
+            missing.removeAll(new HashSet<>(header));
+            if (!missing.isEmpty()) {
+                throw new ValidationException("CSV header is missing required columns: " + String.join(", ", missing));
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isEmpty());
+            rows++;
+
+            if (unterminated) {
+                return new ImportRow(rows, null, "Unterminated quoted field");
+            }
+            if (values.size() != header.size()) {
+                return new ImportRow(rows, null, "Expected " + header.size() + " fields but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            return new ImportRow(rows, fields, null);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            unterminated = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        unterminated = true;
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
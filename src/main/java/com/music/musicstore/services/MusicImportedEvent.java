@@ -0,0 +1,22 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+
+import java.util.List;
+
+/**
+ * Published once per committed import chunk instead of a MusicChangedEvent per row, so the
+ * in-memory views of the catalog apply the new tracks in one pass
+ */
+public class MusicImportedEvent {
+    private final List<Music> music;
+
+    public MusicImportedEvent(List<Music> music) {
+        this.music = List.copyOf(music);
+    }
+
+    // Newly inserted tracks
+    public List<Music> getMusic() {
+        return music;
+    }
+}
@@ -0,0 +1,511 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.MusicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the catalog (name, artist, album, genre, description).
+ * Posting lists are immutable snapshots swapped on write, so searches run without locks or
+ * database access: a sorted long[]/int[] base plus a small sorted delta of added and removed
+ * ids, folded into the base once it grows past the square root of its size. An edit therefore
+ * copies the delta, not the whole list. Kept current through MusicChangedEvent.
+ */
+@Service
+public class MusicSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(MusicSearchIndex.class);
+
+    // Field weights; a term found in several fields of a track scores the sum
+    private static final int NAME_WEIGHT = 16;
+    private static final int ARTIST_WEIGHT = 8;
+    private static final int ALBUM_WEIGHT = 6;
+    private static final int GENRE_WEIGHT = 4;
+    private static final int DESCRIPTION_WEIGHT = 2;
+
+    // The last query term also matches as a prefix (search-as-you-type), capped to this many terms
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final MusicRepository musicRepository;
+
+    private final ConcurrentSkipListMap<String, TermPostings> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Music> documents = new ConcurrentHashMap<>();
+    private final Map<Long, String[]> documentTerms = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    @Autowired
+    public MusicSearchIndex(MusicRepository musicRepository) {
+        this.musicRepository = musicRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            synchronized (this) {
+                postings.clear();
+                documents.clear();
+                documentTerms.clear();
+                // In id order, so every posting list is built by appending and never re-sorted
+                List<Music> catalog = new ArrayList<>(musicRepository.findAll());
+                catalog.removeIf(music -> music.getId() == null);
+                catalog.sort(Comparator.comparing(Music::getId));
+                Map<String, PostingsBuilder> builders = new HashMap<>();
+                for (Music music : catalog) {
+                    long id = music.getId();
+                    Map<String, Integer> weights = termWeights(music);
+                    for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                        builders.computeIfAbsent(entry.getKey(), term -> new PostingsBuilder()).add(id, entry.getValue());
+                    }
+                    documentTerms.put(id, weights.keySet().toArray(new String[0]));
+                    documents.put(id, CatalogSnapshots.copy(music));
+                }
+                builders.forEach((term, builder) -> postings.put(term, new TermPostings(builder.build())));
+            }
+            ready = true;
+            logger.info("Built music search index: {} tracks, {} terms in {} ms",
+                    documents.size(), postings.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error building music search index; search falls back to the database", e);
+        }
+    }
+
+    @EventListener
+    public void onMusicChanged(MusicChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getMusicId());
+        } else {
+            index(event.getMusic());
+        }
+    }
+
+    @EventListener
+    public synchronized void onMusicImported(MusicImportedEvent event) {
+        event.getMusic().forEach(this::index);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized void index(Music music) {
+        if (music == null || music.getId() == null) {
+            return;
+        }
+        long id = music.getId();
+        Music previous = documents.get(id);
+        if (previous != null && sameText(previous, music)) {
+            // Rating, price or flag changes (e.g. a new review) leave the postings alone
+            documents.put(id, CatalogSnapshots.copy(music));
+            return;
+        }
+        removeTerms(id);
+
+        Map<String, Integer> weights = termWeights(music);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.compute(entry.getKey(), (term, list) ->
+                    (list == null ? TermPostings.EMPTY : list).with(id, entry.getValue()));
+        }
+        documentTerms.put(id, weights.keySet().toArray(new String[0]));
+        // Detached copy so later changes to the caller's entity do not leak into search results
+        documents.put(id, CatalogSnapshots.copy(music));
+    }
+
+    public synchronized void remove(Long musicId) {
+        if (musicId == null) {
+            return;
+        }
+        removeTerms(musicId);
+        documents.remove(musicId);
+    }
+
+    /**
+     * Tracks matching every query term, best first
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        long[] ids = null;
+        int[] scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            Postings matches = lookup(terms.get(i), i == terms.size() - 1);
+            if (ids == null) {
+                ids = matches.ids;
+                scores = matches.weights;
+            } else {
+                Postings intersection = intersect(ids, scores, matches.ids, matches.weights);
+                ids = intersection.ids;
+                scores = intersection.weights;
+            }
+            if (ids.length == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+        }
+
+        // Pack (score, position) into one long so ranking is a primitive sort; ties go to newer ids
+        long[] ranking = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ranking[i] = ((long) scores[i] << 32) | i;
+        }
+        Arrays.sort(ranking);
+
+        List<Music> page = new ArrayList<>(Math.min(limit, ids.length));
+        for (int rank = offset; rank < ranking.length && page.size() < limit; rank++) {
+            int position = (int) ranking[ranking.length - 1 - rank];
+            Music music = documents.get(ids[position]);
+            if (music != null) {
+                page.add(music);
+            }
+        }
+        return new SearchResult(page, ids.length);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("documents", documents.size());
+        stats.put("terms", postings.size());
+        return stats;
+    }
+
+    private Postings lookup(String term, boolean prefix) {
+        Postings exact = postings.getOrDefault(term, TermPostings.EMPTY).postings();
+        if (!prefix) {
+            return exact;
+        }
+
+        // Prefix matches count for half, so an exact word outranks a longer word starting with it
+        Postings merged = exact;
+        NavigableMap<String, TermPostings> expansions = postings.subMap(term, false, term + Character.MAX_VALUE, false);
+        int expanded = 0;
+        for (TermPostings candidate : expansions.values()) {
+            if (++expanded > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            merged = union(merged, candidate.postings());
+        }
+        return merged;
+    }
+
+    private void removeTerms(long id) {
+        String[] previous = documentTerms.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            postings.computeIfPresent(term, (t, list) -> {
+                TermPostings remaining = list.without(id);
+                return remaining.isEmpty() ? null : remaining;
+            });
+        }
+    }
+
+    private static boolean sameText(Music a, Music b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getArtistUsername(), b.getArtistUsername())
+                && Objects.equals(a.getAlbumName(), b.getAlbumName())
+                && Objects.equals(a.getGenre(), b.getGenre())
+                && Objects.equals(a.getDescription(), b.getDescription());
+    }
+
+    private static Map<String, Integer> termWeights(Music music) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, music.getName(), NAME_WEIGHT);
+        addField(weights, music.getArtistUsername(), ARTIST_WEIGHT);
+        addField(weights, music.getAlbumName(), ALBUM_WEIGHT);
+        addField(weights, music.getGenre(), GENRE_WEIGHT);
+        addField(weights, music.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addField(Map<String, Integer> weights, String value, int weight) {
+        // Each field counts once per term, however often the word repeats in it
+        for (String term : new HashSet<>(tokenize(value))) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // Sum scores of ids present in both lists
+    private static Postings intersect(long[] aIds, int[] aWeights, long[] bIds, int[] bWeights) {
+        int size = Math.min(aIds.length, bIds.length);
+        long[] ids = new long[size];
+        int[] weights = new int[size];
+        int i = 0, j = 0, n = 0;
+        while (i < aIds.length && j < bIds.length) {
+            if (aIds[i] == bIds[j]) {
+                ids[n] = aIds[i];
+                weights[n++] = aWeights[i++] + bWeights[j++];
+            } else if (aIds[i] < bIds[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new Postings(Arrays.copyOf(ids, n), Arrays.copyOf(weights, n));
+    }
+
+    // Merge an exact-match list with a prefix expansion (worth half) keeping the best score per id
+    private static Postings union(Postings exact, Postings prefix) {
+        long[] ids = new long[exact.ids.length + prefix.ids.length];
+        int[] weights = new int[ids.length];
+        int i = 0, j = 0, n = 0;
+        while (i < exact.ids.length || j < prefix.ids.length) {
+            if (j >= prefix.ids.length || (i < exact.ids.length && exact.ids[i] < prefix.ids[j])) {
+                ids[n] = exact.ids[i];
+                weights[n++] = exact.weights[i++];
+            } else if (i >= exact.ids.length || prefix.ids[j] < exact.ids[i]) {
+                ids[n] = prefix.ids[j];
+                weights[n++] = Math.max(1, prefix.weights[j++] / 2);
+            } else {
+                ids[n] = exact.ids[i];
+                weights[n++] = Math.max(exact.weights[i++], prefix.weights[j++] / 2);
+            }
+        }
+        return new Postings(Arrays.copyOf(ids, n), Arrays.copyOf(weights, n));
+    }
+
+    /**
+     * Immutable posting list: ascending track ids with the term's weight in each track
+     */
+    static final class Postings {
+        static final Postings EMPTY = new Postings(new long[0], new int[0]);
+
+        final long[] ids;
+        final int[] weights;
+
+        Postings(long[] ids, int[] weights) {
+            this.ids = ids;
+            this.weights = weights;
+        }
+
+        // Copy of this list with one id set to a weight (inserted or replaced)
+        Postings with(long id, int weight) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0) {
+                int[] newWeights = weights.clone();
+                newWeights[index] = weight;
+                return new Postings(ids, newWeights);
+            }
+            int insertAt = -index - 1;
+            long[] newIds = new long[ids.length + 1];
+            int[] newWeights = new int[ids.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, insertAt);
+            System.arraycopy(weights, 0, newWeights, 0, insertAt);
+            newIds[insertAt] = id;
+            newWeights[insertAt] = weight;
+            System.arraycopy(ids, insertAt, newIds, insertAt + 1, ids.length - insertAt);
+            System.arraycopy(weights, insertAt, newWeights, insertAt + 1, ids.length - insertAt);
+            return new Postings(newIds, newWeights);
+        }
+
+        Postings without(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            long[] newIds = new long[ids.length - 1];
+            int[] newWeights = new int[ids.length - 1];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(weights, 0, newWeights, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+            System.arraycopy(weights, index + 1, newWeights, index, ids.length - index - 1);
+            return new Postings(newIds, newWeights);
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+    }
+
+    /**
+     * One term's postings as an immutable base plus a delta: ids added or re-weighted since the
+     * base was built, and base ids removed since. The two never share an id, and removed ids are
+     * always in the base. Edits copy only the delta; once it outgrows MIN_DELTA and the square root
+     * of the base it is folded in, so an edit costs O(sqrt(n)) amortised instead of O(n).
+     */
+    static final class TermPostings {
+        private static final int MIN_DELTA = 32;
+        private static final long[] NONE = new long[0];
+
+        static final TermPostings EMPTY = new TermPostings(Postings.EMPTY);
+
+        private final Postings base;
+        private final Postings added;
+        private final long[] removed;
+
+        // The merged list, built on first read; racing readers build the same value
+        private volatile Postings merged;
+
+        TermPostings(Postings base) {
+            this(base, Postings.EMPTY, NONE);
+            merged = base;
+        }
+
+        private TermPostings(Postings base, Postings added, long[] removed) {
+            this.base = base;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        TermPostings with(long id, int weight) {
+            return next(added.with(id, weight), drop(removed, id));
+        }
+
+        TermPostings without(long id) {
+            long[] nextRemoved = base.contains(id) ? insert(removed, id) : removed;
+            return next(added.without(id), nextRemoved);
+        }
+
+        boolean isEmpty() {
+            return added.ids.length == 0 && removed.length == base.ids.length;
+        }
+
+        Postings postings() {
+            Postings result = merged;
+            if (result == null) {
+                result = merge();
+                merged = result;
+            }
+            return result;
+        }
+
+        private TermPostings next(Postings nextAdded, long[] nextRemoved) {
+            TermPostings next = new TermPostings(base, nextAdded, nextRemoved);
+            if (nextAdded.ids.length + nextRemoved.length > Math.max(MIN_DELTA, (int) Math.sqrt(base.ids.length))) {
+                return new TermPostings(next.merge());
+            }
+            return next;
+        }
+
+        // Base minus removed, with added laid over it; all three are sorted, so one pass
+        private Postings merge() {
+            if (added.ids.length == 0 && removed.length == 0) {
+                return base;
+            }
+            long[] ids = new long[base.ids.length + added.ids.length];
+            int[] weights = new int[ids.length];
+            int b = 0, a = 0, r = 0, n = 0;
+            while (b < base.ids.length || a < added.ids.length) {
+                if (a >= added.ids.length || (b < base.ids.length && base.ids[b] < added.ids[a])) {
+                    long id = base.ids[b];
+                    while (r < removed.length && removed[r] < id) {
+                        r++;
+                    }
+                    if (r >= removed.length || removed[r] != id) {
+                        ids[n] = id;
+                        weights[n++] = base.weights[b];
+                    }
+                    b++;
+                } else {
+                    if (b < base.ids.length && base.ids[b] == added.ids[a]) {
+                        // Re-weighted base id: the added weight wins
+                        b++;
+                    }
+                    ids[n] = added.ids[a];
+                    weights[n++] = added.weights[a++];
+                }
+            }
+            return new Postings(Arrays.copyOf(ids, n), Arrays.copyOf(weights, n));
+        }
+
+        private static long[] insert(long[] ids, long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0) {
+                return ids;
+            }
+            int insertAt = -index - 1;
+            long[] result = new long[ids.length + 1];
+            System.arraycopy(ids, 0, result, 0, insertAt);
+            result[insertAt] = id;
+            System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+            return result;
+        }
+
+        private static long[] drop(long[] ids, long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return ids;
+            }
+            long[] result = new long[ids.length - 1];
+            System.arraycopy(ids, 0, result, 0, index);
+            System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+            return result;
+        }
+    }
+
+    /**
+     * Growable posting list for the bulk build; ids must be appended in ascending order
+     */
+    private static final class PostingsBuilder {
+        private long[] ids = new long[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(long id, int weight) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = id;
+            weights[size++] = weight;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(ids, size), Arrays.copyOf(weights, size));
+        }
+    }
+
+    public static class SearchResult {
+        private final List<Music> content;
+        private final long total;
+
+        public SearchResult(List<Music> content, long total) {
+            this.content = content;
+            this.total = total;
+        }
+
+        public List<Music> getContent() { return content; }
+        public long getTotal() { return total; }
+    }
+}
@@ -2,15 +2,23 @@ package com.music.musicstore.services;
 
 import com.music.musicstore.models.music.Music;
 import com.music.musicstore.repositories.MusicRepository;
+import com.music.musicstore.repositories.MusicSpecifications;
+import com.music.musicstore.repositories.MusicSummary;
+import com.music.musicstore.dto.CursorPage;
 import com.music.musicstore.dto.MusicDto;
+import com.music.musicstore.dto.SearchHit;
 import com.music.musicstore.exceptions.ResourceNotFoundException;
 import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.exceptions.BusinessRuleException;
 import com.music.musicstore.exceptions.UnauthorizedException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.core.io.Resource;
@@ -23,6 +31,9 @@ import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
@@ -32,13 +43,41 @@ import java.io.IOException;
 public class MusicService {
     private static final Logger logger = LoggerFactory.getLogger(MusicService.class);
 
+    // Catalog sort keys accepted from clients, mapped to entity properties
+    private static final Map<String, String> CATALOG_SORT_FIELDS = Map.of(
+            "createdAt", "createdAt",
+            "name", "name",
+            "price", "price",
+            "rating", "averageRating",
+            "averageRating", "averageRating",
+            "totalReviews", "totalReviews",
+            "releaseYear", "releaseYear",
+            "artist", "artistUsername",
+            "genre", "genre");
+
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final KeysetPager<Music> musicPager = new KeysetPager<>("createdAt", Music::getCreatedAt, Music::getId);
+
     private final MusicRepository musicRepository;
     private final FileStorageService fileStorageService;
+    private final MusicSearchIndex searchIndex;
+    private final FullTextSearchService fullTextSearchService;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public MusicService(MusicRepository musicRepository, FileStorageService fileStorageService) {
+    public MusicService(MusicRepository musicRepository, FileStorageService fileStorageService,
+                        MusicSearchIndex searchIndex, FullTextSearchService fullTextSearchService,
+                        CatalogCache catalogCache, ApplicationEventPublisher eventPublisher) {
         this.musicRepository = musicRepository;
         this.fileStorageService = fileStorageService;
+        this.searchIndex = searchIndex;
+        this.fullTextSearchService = fullTextSearchService;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
         logger.info("MusicService initialized successfully");
     }
 
@@ -57,6 +96,7 @@ public class MusicService {
 
         try {
             Music savedMusic = musicRepository.save(music);
+            eventPublisher.publishEvent(MusicChangedEvent.saved(savedMusic));
             logger.info("Successfully saved music: {} (ID: {})", savedMusic.getName(), savedMusic.getId());
             return savedMusic;
         } catch (Exception e) {
@@ -83,7 +123,10 @@ public class MusicService {
 
             Music music = musicOpt.get();
 
-            // Attempt to delete associated files from storage (safe cleanup)
+            musicRepository.deleteById(id);
+            eventPublisher.publishEvent(MusicChangedEvent.deleted(id));
+
+            // Then release the stored files; shared files stay while other rows still use them
             try {
                 String audioPath = music.getAudioFilePath();
                 String imagePath = music.getImageUrl();
@@ -110,10 +153,9 @@ public class MusicService {
                 }
             } catch (Exception fileEx) {
                 logger.warn("Failed to delete stored files for music ID: {}: {}", id, fileEx.getMessage());
-                // proceed to delete DB record even if files couldn't be deleted
+                // The record is already gone; a leftover file is harmless
             }
 
-            musicRepository.deleteById(id);
             logger.info("Successfully deleted music with ID: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting music with ID: {}", id, e);
@@ -159,6 +201,7 @@ public class MusicService {
             }
 
             Music updatedMusic = musicRepository.save(music);
+            eventPublisher.publishEvent(MusicChangedEvent.saved(updatedMusic));
             logger.info("Successfully updated music: {} (ID: {})", updatedMusic.getName(), updatedMusic.getId());
         } catch (Exception e) {
             logger.error("Error updating music: {}", music.getName(), e);
@@ -188,9 +231,9 @@ public class MusicService {
         }
 
         try {
-            Optional<Music> music = musicRepository.findById(id);
+            Optional<Music> music = catalogCache.findMusic(id);
             if (music.isPresent()) {
-                logger.info("Successfully found music by ID: {}", id);
+                logger.debug("Successfully found music by ID: {}", id);
             } else {
                 logger.debug("Music not found by ID: {}", id);
             }
@@ -201,6 +244,38 @@ public class MusicService {
         }
     }
 
+    /**
+     * Tracks for a list of ids in the order requested (duplicates and unknown ids dropped),
+     * served from the catalog cache with the misses loaded in a single query
+     */
+    public List<Music> getMusicByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_BATCH_SIZE) {
+            logger.error("Batch lookup of {} ids exceeds the limit of {}", requested.size(), MAX_BATCH_SIZE);
+            throw new ValidationException("At most " + MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+
+        try {
+            Map<Long, Music> found = catalogCache.findMusicByIds(requested);
+            List<Music> result = new ArrayList<>(found.size());
+            for (Long id : requested) {
+                Music music = found.get(id);
+                if (music != null) {
+                    result.add(music);
+                }
+            }
+            logger.debug("Batch lookup resolved {} of {} ids", result.size(), requested.size());
+            return result;
+        } catch (Exception e) {
+            logger.error("Error in batch music lookup", e);
+            throw new RuntimeException("Failed to find music by IDs", e);
+        }
+    }
+
     public List<Music> getMusicByGenre(String genre) {
         logger.debug("Finding music by genre: {}", genre);
 
@@ -243,6 +318,83 @@ public class MusicService {
         }
     }
 
+    /**
+     * Catalog listing with any combination of genre, artist and title/artist search,
+     * sorted by a whitelisted field, as a single query selecting only the list columns
+     */
+    public Page<MusicSummary> findCatalog(String genre, String artist, String search,
+                                   String sortBy, String sortDir, int page, int size) {
+        logger.debug("Querying catalog: genre={}, artist={}, search='{}', sortBy={}, sortDir={}, page={}, size={}",
+                genre, artist, search, sortBy, sortDir, page, size);
+
+        if (page < 0) {
+            logger.error("Page number cannot be negative: {}", page);
+            throw new ValidationException("Page number cannot be negative");
+        }
+
+        if (size <= 0) {
+            logger.error("Page size must be positive: {}", size);
+            throw new ValidationException("Page size must be positive");
+        }
+
+        String sortProperty = CATALOG_SORT_FIELDS.get(sortBy != null ? sortBy : "createdAt");
+        if (sortProperty == null) {
+            logger.error("Unsupported sort field: {}", sortBy);
+            throw new ValidationException("Unsupported sort field: " + sortBy
+                    + ". Allowed: " + String.join(", ", CATALOG_SORT_FIELDS.keySet()));
+        }
+
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // id as a tie-breaker keeps page boundaries stable when sort values repeat
+        Sort sort = Sort.by(direction, sortProperty).and(Sort.by(direction, "id"));
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_CATALOG_PAGE_SIZE), sort);
+
+        Specification<Music> filter = Specification.allOf(
+                MusicSpecifications.hasGenre(genre),
+                MusicSpecifications.hasArtist(artist),
+                MusicSpecifications.matchesSearch(search));
+
+        try {
+            Page<MusicSummary> musicPage = musicRepository.findBy(filter, q -> q.as(MusicSummary.class).page(pageable));
+            logger.info("Catalog query returned {} items on page {}", musicPage.getNumberOfElements(), page);
+            return musicPage;
+        } catch (Exception e) {
+            logger.error("Error querying catalog", e);
+            throw new RuntimeException("Failed to query catalog", e);
+        }
+    }
+
+    /**
+     * Keyset variant of findCatalog, ordered by createdAt. Pass the previous page's nextCursor
+     * (empty for the first page); the total is only counted when includeTotal is set. Rows are
+     * selected as MusicSummary, the same projection the offset catalog uses.
+     */
+    public CursorPage<MusicSummary> findCatalogByCursor(String genre, String artist, String search, String sortDir,
+                                                        String cursor, int size, boolean includeTotal) {
+        logger.debug("Querying catalog by cursor: genre={}, artist={}, search='{}', size={}", genre, artist, search, size);
+
+        Specification<Music> filter = Specification.allOf(
+                MusicSpecifications.hasGenre(genre),
+                MusicSpecifications.hasArtist(artist),
+                MusicSpecifications.matchesSearch(search));
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        try {
+            return musicPager.fetchAs(musicRepository, filter, cursor, size, direction, includeTotal,
+                    MusicSummary.class, MusicSummary::getCreatedAt, MusicSummary::getId);
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error querying catalog by cursor", e);
+            throw new RuntimeException("Failed to query catalog", e);
+        }
+    }
+
+    // Newest first, as full entities like getAllMusicPaginated
+    public CursorPage<Music> getAllMusicByCursor(String cursor, int size, boolean includeTotal) {
+        return musicPager.fetch(musicRepository, null, cursor, size, Sort.Direction.DESC, includeTotal);
+    }
+
     public Page<Music> searchMusic(String query, int page, int size) {
         logger.debug("Searching music with query: '{}', page={}, size={}", query, page, size);
 
@@ -262,7 +414,17 @@ public class MusicService {
         }
 
         try {
+            // The Postgres backend when configured, else the in-memory index once it is built;
+            // the LIKE query covers startup
+            if (fullTextSearchService.isEnabled()) {
+                return fullTextSearchService.searchMusic(query, page, size).map(SearchHit::getItem);
+            }
             Pageable pageable = PageRequest.of(page, size);
+            if (searchIndex.isReady()) {
+                MusicSearchIndex.SearchResult result = searchIndex.search(query, (int) pageable.getOffset(), size);
+                logger.info("Searched music index with query '{}': {} matches", query, result.getTotal());
+                return new PageImpl<>(result.getContent(), pageable, result.getTotal());
+            }
             Page<Music> musicPage = musicRepository.findByNameContainingIgnoreCaseOrArtistUsernameContainingIgnoreCase(query, query, pageable);
             logger.info("Successfully searched music with query '{}': {} items found on page {}", query, musicPage.getNumberOfElements(), page);
             return musicPage;
@@ -491,7 +653,7 @@ public class MusicService {
             .orElseThrow(() -> new RuntimeException("Music not found with id: " + musicId));
         // Assuming Music entity has a status field
         // music.setStatus(status);
-        musicRepository.save(music);
+        eventPublisher.publishEvent(MusicChangedEvent.saved(musicRepository.save(music)));
     }
 
     // Add paginated version for better performance with large datasets
@@ -500,6 +662,16 @@ public class MusicService {
         return musicRepository.findByArtistUsername(artistUsername, pageable);
     }
 
+    // List views of an artist's tracks (only the MusicSummary columns)
+    public Page<MusicSummary> getMusicSummariesByArtist(String artistUsername, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return musicRepository.findSummariesByArtistUsername(artistUsername, pageable);
+    }
+
+    public List<MusicSummary> getMusicSummariesByArtist(String artistUsername) {
+        return musicRepository.findAllSummariesByArtistUsername(artistUsername);
+    }
+
     // Enhanced method for artist-specific operations
     public List<Music> getArtistMusicWithStatus(String artistUsername, String status) {
         // This would filter by status if the Music entity has a status field
@@ -524,6 +696,10 @@ public class MusicService {
         return getAllMusicPaginated(page, size);
     }
 
+    public CursorPage<Music> getAllMusicForAdminByCursor(String cursor, int size, boolean includeTotal) {
+        return getAllMusicByCursor(cursor, size, includeTotal);
+    }
+
     public void deleteMusicAsAdmin(Long musicId) {
         deleteMusic(musicId);
     }
@@ -760,7 +936,7 @@ public class MusicService {
         music.setFlaggedAt(LocalDateTime.now());
         music.setFlaggedByCustomerId(customerId);
 
-        musicRepository.save(music);
+        eventPublisher.publishEvent(MusicChangedEvent.saved(musicRepository.save(music)));
         logger.info("Successfully flagged music ID: {} by customer: {}", musicId, customerId);
     }
 
@@ -818,7 +994,7 @@ public class MusicService {
             music.setFlaggedAt(null);
             music.setFlaggedByCustomerId(null);
 
-            musicRepository.save(music);
+            eventPublisher.publishEvent(MusicChangedEvent.saved(musicRepository.save(music)));
             logger.info("Successfully unflagged music ID: {}", musicId);
         } catch (Exception e) {
             logger.error("Error unflagging music ID: {}", musicId, e);
@@ -0,0 +1,462 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.MusicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Typeahead over track titles, artist names and album titles. A compressed (radix) trie where
+ * every node caches the best TOP_K completions of its subtree, so a lookup is a walk down the
+ * prefix and a copy of that node's list. Nodes are immutable: an update copies the path it
+ * touches and swaps the root, so readers never lock or see a half-applied change.
+ */
+@Service
+public class MusicSuggestionIndex {
+    private static final Logger logger = LoggerFactory.getLogger(MusicSuggestionIndex.class);
+
+    public static final int TOP_K = 10;
+
+    // "Blue Monday" is also reachable from "monday"; later words are indexed up to this many
+    private static final int MAX_WORD_STARTS = 4;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingLong(Suggestion::getPopularity).reversed()
+            .thenComparing(Suggestion::getText);
+
+    public enum Type { TITLE, ARTIST, ALBUM }
+
+    private final MusicRepository musicRepository;
+
+    private volatile Node root = Node.EMPTY;
+    private volatile boolean ready;
+
+    // Writer-side bookkeeping, guarded by this
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private final Map<String, Aggregate> aggregates = new HashMap<>();
+
+    @Autowired
+    public MusicSuggestionIndex(MusicRepository musicRepository) {
+        this.musicRepository = musicRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            synchronized (this) {
+                root = Node.EMPTY;
+                contributions.clear();
+                aggregates.clear();
+                musicRepository.findAll().forEach(this::update);
+            }
+            ready = true;
+            logger.info("Built music suggestion trie: {} suggestions in {} ms",
+                    aggregates.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error building music suggestion trie", e);
+        }
+    }
+
+    @EventListener
+    public void onMusicChanged(MusicChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getMusicId());
+        } else {
+            update(event.getMusic());
+        }
+    }
+
+    // A whole chunk is folded in before the trie is republished
+    @EventListener
+    public synchronized void onMusicImported(MusicImportedEvent event) {
+        Set<String> dirty = new LinkedHashSet<>();
+        for (Music music : event.getMusic()) {
+            apply(music, dirty);
+        }
+        publish(dirty);
+    }
+
+    /**
+     * Best completions for a typed prefix, most popular first. Never touches the database.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Suggestion[] top = find(root, key);
+        return Arrays.asList(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    public synchronized void update(Music music) {
+        Set<String> dirty = new LinkedHashSet<>();
+        apply(music, dirty);
+        publish(dirty);
+    }
+
+    public synchronized void remove(Long musicId) {
+        if (musicId == null) {
+            return;
+        }
+        Set<String> dirty = new LinkedHashSet<>();
+        retract(contributions.remove(musicId), dirty);
+        publish(dirty);
+    }
+
+    private void apply(Music music, Set<String> dirty) {
+        if (music == null || music.getId() == null) {
+            return;
+        }
+        retract(contributions.remove(music.getId()), dirty);
+
+        Contribution contribution = new Contribution(popularity(music),
+                contribute(Type.TITLE, music.getName()),
+                contribute(Type.ARTIST, music.getArtistUsername()),
+                contribute(Type.ALBUM, music.getAlbumName()));
+        for (String key : contribution.keys) {
+            if (key != null) {
+                Aggregate aggregate = aggregates.get(key);
+                aggregate.tracks++;
+                aggregate.popularity += contribution.popularity;
+                dirty.add(key);
+            }
+        }
+        contributions.put(music.getId(), contribution);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("suggestions", aggregates.size());
+        stats.put("tracks", contributions.size());
+        return stats;
+    }
+
+    // Popularity of a track: review volume weighted by rating; every track counts at least once
+    private static long popularity(Music music) {
+        long reviews = music.getTotalReviews() != null ? music.getTotalReviews() : 0;
+        double rating = music.getAverageRating() != null ? music.getAverageRating().doubleValue() : 0.0;
+        return 1 + Math.round(reviews * (1 + rating));
+    }
+
+    private String contribute(Type type, String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        String key = type + ":" + normalized;
+        aggregates.computeIfAbsent(key, k -> new Aggregate(type, text.trim(), normalized));
+        return key;
+    }
+
+    private void retract(Contribution previous, Set<String> dirty) {
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous.keys) {
+            if (key != null) {
+                Aggregate aggregate = aggregates.get(key);
+                aggregate.tracks--;
+                aggregate.popularity -= previous.popularity;
+                dirty.add(key);
+            }
+        }
+    }
+
+    // Replaces each changed suggestion in the trie and publishes the new root
+    private void publish(Set<String> dirty) {
+        Node next = root;
+        for (String key : dirty) {
+            Aggregate aggregate = aggregates.get(key);
+            if (aggregate.current != null) {
+                for (String entry : entryKeys(aggregate.normalized)) {
+                    next = put(next, entry, 0, aggregate.current, false);
+                }
+                aggregate.current = null;
+            }
+            if (aggregate.tracks <= 0) {
+                aggregates.remove(key);
+                continue;
+            }
+            aggregate.current = new Suggestion(aggregate.display, aggregate.type, aggregate.popularity);
+            for (String entry : entryKeys(aggregate.normalized)) {
+                next = put(next, entry, 0, aggregate.current, true);
+            }
+        }
+        root = next;
+    }
+
+    // The full phrase plus the phrase from each of its next few words
+    private static List<String> entryKeys(String normalized) {
+        List<String> keys = new ArrayList<>(MAX_WORD_STARTS);
+        keys.add(normalized);
+        int from = 0;
+        while (keys.size() < MAX_WORD_STARTS) {
+            int space = normalized.indexOf(' ', from);
+            if (space < 0 || space == normalized.length() - 1) {
+                break;
+            }
+            keys.add(normalized.substring(space + 1));
+            from = space + 1;
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Suggestion[] find(Node node, String key) {
+        int i = 0;
+        while (i < key.length()) {
+            int j = node.indexOf(key.charAt(i));
+            if (j < 0) {
+                return Node.NONE;
+            }
+            String edge = node.edges[j];
+            int common = commonPrefix(edge, key, i);
+            if (i + common == key.length()) {
+                // The prefix ends on (or inside) this edge: everything below it completes it
+                return node.children[j].top;
+            }
+            if (common < edge.length()) {
+                return Node.NONE;
+            }
+            node = node.children[j];
+            i += common;
+        }
+        return node.top;
+    }
+
+    /**
+     * Returns a copy of node with suggestion added at (or removed from) key[offset..].
+     * Only the nodes along the path are copied; edges are split and re-merged so the trie
+     * stays compressed.
+     */
+    private static Node put(Node node, String key, int offset, Suggestion suggestion, boolean add) {
+        if (offset == key.length()) {
+            Suggestion[] terminals = add ? append(node.terminals, suggestion) : without(node.terminals, suggestion);
+            return terminals == node.terminals ? node : Node.of(node.edges, node.children, terminals);
+        }
+
+        int j = node.indexOf(key.charAt(offset));
+        if (j < 0) {
+            if (!add) {
+                return node;
+            }
+            Node leaf = Node.of(new String[0], new Node[0], new Suggestion[]{suggestion});
+            return node.withChild(key.substring(offset), leaf);
+        }
+
+        String edge = node.edges[j];
+        int common = commonPrefix(edge, key, offset);
+        if (common == edge.length()) {
+            Node child = put(node.children[j], key, offset + common, suggestion, add);
+            if (child == node.children[j]) {
+                return node;
+            }
+            if (child.isEmpty()) {
+                return node.withoutChild(j);
+            }
+            if (child.terminals.length == 0 && child.edges.length == 1) {
+                // A pass-through node left behind by a removal is folded into its parent edge
+                return node.replaceChild(j, edge + child.edges[0], child.children[0]);
+            }
+            return node.replaceChild(j, edge, child);
+        }
+
+        if (!add) {
+            return node;
+        }
+        // The key leaves this edge part-way: split it at the divergence point
+        Node middle = Node.of(new String[]{edge.substring(common)}, new Node[]{node.children[j]}, Node.NONE);
+        middle = put(middle, key, offset + common, suggestion, true);
+        return node.replaceChild(j, edge.substring(0, common), middle);
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && edge.charAt(n) == key.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static Suggestion[] append(Suggestion[] values, Suggestion value) {
+        Suggestion[] copy = Arrays.copyOf(values, values.length + 1);
+        copy[values.length] = value;
+        return copy;
+    }
+
+    private static Suggestion[] without(Suggestion[] values, Suggestion value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                Suggestion[] copy = new Suggestion[values.length - 1];
+                System.arraycopy(values, 0, copy, 0, i);
+                System.arraycopy(values, i + 1, copy, i, values.length - i - 1);
+                return copy;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Immutable trie node. Edges are sorted by first character, which is unique per node.
+     */
+    private static final class Node {
+        static final Suggestion[] NONE = new Suggestion[0];
+        static final Node EMPTY = new Node(new String[0], new Node[0], NONE, NONE);
+
+        final String[] edges;
+        final Node[] children;
+        final Suggestion[] terminals;
+        final Suggestion[] top;
+
+        private Node(String[] edges, Node[] children, Suggestion[] terminals, Suggestion[] top) {
+            this.edges = edges;
+            this.children = children;
+            this.terminals = terminals;
+            this.top = top;
+        }
+
+        // Recomputes the subtree's best completions from this node's own entries and its children's lists
+        static Node of(String[] edges, Node[] children, Suggestion[] terminals) {
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(terminals));
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            Suggestion[] top = candidates.stream()
+                    .distinct()
+                    .sorted(BEST_FIRST)
+                    .limit(TOP_K)
+                    .toArray(Suggestion[]::new);
+            return new Node(edges, children, terminals, top);
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && edges.length == 0;
+        }
+
+        int indexOf(char first) {
+            int low = 0, high = edges.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = edges[mid].charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        Node withChild(String edge, Node child) {
+            int at = 0;
+            while (at < edges.length && edges[at].charAt(0) < edge.charAt(0)) {
+                at++;
+            }
+            String[] newEdges = new String[edges.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(edges, 0, newEdges, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newEdges[at] = edge;
+            newChildren[at] = child;
+            System.arraycopy(edges, at, newEdges, at + 1, edges.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            return of(newEdges, newChildren, terminals);
+        }
+
+        Node withoutChild(int index) {
+            String[] newEdges = new String[edges.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(edges, 0, newEdges, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(edges, index + 1, newEdges, index, edges.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return of(newEdges, newChildren, terminals);
+        }
+
+        Node replaceChild(int index, String edge, Node child) {
+            String[] newEdges = edges.clone();
+            Node[] newChildren = children.clone();
+            newEdges[index] = edge;
+            newChildren[index] = child;
+            return of(newEdges, newChildren, terminals);
+        }
+    }
+
+    /**
+     * One completion: the text as entered in the catalog, what it is, and how popular it is
+     */
+    public static final class Suggestion {
+        private final String text;
+        private final Type type;
+        private final long popularity;
+
+        Suggestion(String text, Type type, long popularity) {
+            this.text = text;
+            this.type = type;
+            this.popularity = popularity;
+        }
+
+        public String getText() { return text; }
+        public Type getType() { return type; }
+        public long getPopularity() { return popularity; }
+    }
+
+    // Running totals for one suggestion across every track that mentions it
+    private static final class Aggregate {
+        final Type type;
+        final String display;
+        final String normalized;
+        int tracks;
+        long popularity;
+        Suggestion current;
+
+        Aggregate(Type type, String display, String normalized) {
+            this.type = type;
+            this.display = display;
+            this.normalized = normalized;
+        }
+    }
+
+    // What one track added to the aggregates, so it can be taken back when the track changes
+    private static final class Contribution {
+        final long popularity;
+        final String[] keys;
+
+        Contribution(long popularity, String... keys) {
+            this.popularity = popularity;
+            this.keys = keys;
+        }
+    }
+}
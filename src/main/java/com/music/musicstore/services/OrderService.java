@@ -1,11 +1,16 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.dto.CursorPage;
+import com.music.musicstore.dto.OrderItemSummaryDto;
+import com.music.musicstore.dto.OrderSummaryDto;
+import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.models.cart.Cart;
 import com.music.musicstore.models.cart.CartItem;
 import com.music.musicstore.models.order.Order;
 import com.music.musicstore.models.order.OrderItem;
 import com.music.musicstore.models.users.Customer;
 import com.music.musicstore.repositories.CartItemRepository;
+import com.music.musicstore.repositories.OrderKey;
 import com.music.musicstore.repositories.OrderRepository;
 import com.music.musicstore.repositories.CustomerRepository;
 import com.music.musicstore.services.CustomerService;
@@ -15,12 +20,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Objects;
 
 @Service
 @Transactional
@@ -32,6 +40,8 @@ public class OrderService {
     private final CustomerService customerService;
     private final CustomerRepository customerRepository;
 
+    private final KeysetPager<Order> orderPager = new KeysetPager<>("orderDate", Order::getOrderDate, Order::getId);
+
     @Autowired
     public OrderService(OrderRepository orderRepository, CartService cartService, CartItemRepository cartItemRepository, EmailSender emailSender, CustomerService customerService, CustomerRepository customerRepository) {
         this.orderRepository = orderRepository;
@@ -157,10 +167,9 @@ public class OrderService {
         throw new RuntimeException("Direct music purchase not yet implemented");
     }
 
-    public Page<Order> getOrdersByUsername(String username, int page, int size) {
-        // Implementation to get orders by username with pagination
-        Pageable pageable = PageRequest.of(page, size);
-        return orderRepository.findByCustomer_Username(username, pageable);
+    public Page<OrderSummaryDto> getOrdersByUsername(String username, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "orderDate"));
+        return withItems(orderRepository.findSummariesByCustomerUsername(username, pageable));
     }
 
     public Order getOrderDetails(Long orderId, String username) {
@@ -282,13 +291,57 @@ public class OrderService {
         return totalRevenue != null ? totalRevenue.doubleValue() : 0.0;
     }
 
-    public Page<Order> getAllOrdersForAdmin(int page, int size, String status) {
-        Pageable pageable = PageRequest.of(page, size);
+    public Page<OrderSummaryDto> getAllOrdersForAdmin(int page, int size, String status) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "orderDate"));
         if (status != null && !status.trim().isEmpty()) {
-            // Would need to implement status filtering in repository
-            return orderRepository.findAll(pageable);
+            return withItems(orderRepository.findSummariesByStatus(parseStatus(status), pageable));
+        }
+        return withItems(orderRepository.findSummaries(pageable));
+    }
+
+    // One query for the items of every order on the page
+    private <P extends Iterable<OrderSummaryDto>> P withItems(P orders) {
+        Map<Long, OrderSummaryDto> byId = new HashMap<>();
+        orders.forEach(order -> byId.put(order.getId(), order));
+        if (byId.isEmpty()) {
+            return orders;
+        }
+        for (OrderItemSummaryDto item : orderRepository.findItemSummaries(byId.keySet())) {
+            byId.get(item.getOrderId()).getItems().add(item);
+        }
+        return orders;
+    }
+
+    /**
+     * Keyset variant of getAllOrdersForAdmin, newest first, optionally filtered by status. The seek
+     * reads only (orderDate, id); the page is then loaded as the same OrderSummaryDto rows.
+     */
+    public CursorPage<OrderSummaryDto> getAllOrdersForAdminByCursor(String cursor, int size, String status,
+                                                                    boolean includeTotal) {
+        Specification<Order> filter = null;
+        if (status != null && !status.trim().isEmpty()) {
+            Order.OrderStatus orderStatus = parseStatus(status);
+            filter = (root, query, cb) -> cb.equal(root.get("status"), orderStatus);
+        }
+        CursorPage<OrderKey> keys = orderPager.fetchAs(orderRepository, filter, cursor, size, Sort.Direction.DESC,
+                includeTotal, OrderKey.class, OrderKey::getOrderDate, OrderKey::getId);
+
+        List<Long> ids = keys.getContent().stream().map(OrderKey::getId).toList();
+        Map<Long, OrderSummaryDto> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            withItems(orderRepository.findSummariesByIds(ids)).forEach(order -> byId.put(order.getId(), order));
+        }
+        // Keep the seek order; an order deleted between the two queries is dropped
+        List<OrderSummaryDto> rows = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new CursorPage<>(rows, keys.getNextCursor(), keys.getSize(), keys.getTotalElements());
+    }
+
+    private static Order.OrderStatus parseStatus(String status) {
+        try {
+            return Order.OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid order status: " + status);
         }
-        return orderRepository.findAll(pageable);
     }
 
     public void refundOrder(Long orderId) {
@@ -31,14 +31,17 @@ public class PlaylistService {
     private final PlaylistRepository playlistRepository;
     private final CustomerRepository customerRepository;
     private final MusicRepository musicRepository;
+    private final CatalogMapper catalogMapper;
 
     @Autowired
     public PlaylistService(PlaylistRepository playlistRepository,
                           CustomerRepository customerRepository,
-                          MusicRepository musicRepository) {
+                          MusicRepository musicRepository,
+                          CatalogMapper catalogMapper) {
         this.playlistRepository = playlistRepository;
         this.customerRepository = customerRepository;
         this.musicRepository = musicRepository;
+        this.catalogMapper = catalogMapper;
     }
 
     /**
@@ -254,7 +257,7 @@ public class PlaylistService {
 
     private PlaylistWithMusicDto convertToPlaylistWithMusicDto(Playlist playlist) {
         List<MusicDto> musicDtos = playlist.getMusics().stream()
-            .map(this::convertMusicToDto)
+            .map(catalogMapper::toMusicDto)
             .collect(Collectors.toList());
 
         return new PlaylistWithMusicDto(
@@ -268,23 +271,4 @@ public class PlaylistService {
             musicDtos
         );
     }
-
-    private MusicDto convertMusicToDto(Music music) {
-        MusicDto dto = new MusicDto();
-        dto.setId(music.getId());
-        dto.setName(music.getName());
-        dto.setDescription(music.getDescription());
-        dto.setPrice(music.getPrice());
-        dto.setImageUrl(music.getImageUrl());
-        dto.setAudioFilePath(music.getAudioFilePath());
-        dto.setCategory(music.getCategory());
-        dto.setArtist(music.getArtistUsername()); // Map artistUsername to artist
-        dto.setAlbum(music.getAlbumName()); // Map albumName to album
-        dto.setGenre(music.getGenre());
-        dto.setReleaseYear(music.getReleaseYear());
-        dto.setCreatedAt(music.getCreatedAt());
-        dto.setAverageRating(music.getAverageRating() != null ? music.getAverageRating().doubleValue() : 0.0);
-        dto.setTotalReviews(music.getTotalReviews());
-        return dto;
-    }
 }
@@ -0,0 +1,149 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.exceptions.AuthenticationException;
+import com.music.musicstore.models.RefreshToken;
+import com.music.musicstore.repositories.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. The raw token is only ever returned to the client;
+ * the database keeps its SHA-256 hash.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.refresh-expiration-days:30}")
+    private long refreshExpirationDays;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TokenRevocationService tokenRevocationService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * Start a new token family, e.g. on login or registration
+     */
+    @Transactional
+    public String issue(String username) {
+        return create(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consume the presented token and issue its successor. Presenting a token that was already
+     * used means it leaked, so the whole family is revoked.
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new AuthenticationException("Refresh token is required");
+        }
+
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+
+        if (current.getRevoked() || current.getUsedAt() != null) {
+            if (current.getUsedAt() != null && !current.getRevoked()) {
+                logger.warn("Refresh token reuse detected for user: {}, revoking family {}",
+                        current.getUsername(), current.getFamilyId());
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+            }
+            throw new AuthenticationException("Refresh token has been revoked");
+        }
+
+        if (current.isExpired()) {
+            throw new AuthenticationException("Refresh token has expired");
+        }
+
+        // Disable, delete and password change move the user's cut-off past this token
+        Date createdAt = Date.from(current.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+        if (tokenRevocationService.isRevoked(current.getUsername(), createdAt)) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new AuthenticationException("Refresh token has been revoked");
+        }
+
+        current.setUsedAt(LocalDateTime.now());
+        refreshTokenRepository.save(current);
+
+        String next = create(current.getUsername(), current.getFamilyId());
+        return new Rotation(current.getUsername(), next);
+    }
+
+    /**
+     * Revoke the family of the presented token, e.g. on logout. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    public void deleteExpiredTokens() {
+        try {
+            int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        } catch (Exception e) {
+            logger.error("Error deleting expired refresh tokens", e);
+        }
+    }
+
+    private String create(String username, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), username, familyId,
+                LocalDateTime.now().plusDays(refreshExpirationDays)));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class Rotation {
+        private final String username;
+        private final String refreshToken;
+
+        public Rotation(String username, String refreshToken) {
+            this.username = username;
+            this.refreshToken = refreshToken;
+        }
+
+        public String getUsername() { return username; }
+        public String getRefreshToken() { return refreshToken; }
+    }
+}
@@ -10,6 +10,7 @@ import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.exceptions.BusinessRuleException;
 import com.music.musicstore.exceptions.UnauthorizedException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,11 +30,14 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final MusicRepository musicRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ReviewService(ReviewRepository reviewRepository, MusicRepository musicRepository) {
+    public ReviewService(ReviewRepository reviewRepository, MusicRepository musicRepository,
+                         ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.musicRepository = musicRepository;
+        this.eventPublisher = eventPublisher;
         logger.info("ReviewService initialized successfully");
     }
 
@@ -487,7 +491,9 @@ public class ReviewService {
             // Update music entity
             music.setTotalReviews(totalReviews);
             music.setAverageRating(BigDecimal.valueOf(averageRating));
-            musicRepository.save(music);
+            // Always move updatedAt: it versions the review stats too, which change even when the average does not
+            music.setUpdatedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(MusicChangedEvent.saved(musicRepository.save(music)));
 
             logger.info("Updated rating stats for music ID {}: {} reviews, avg rating {}",
                        music.getId(), totalReviews, averageRating);
@@ -599,7 +605,8 @@ public class ReviewService {
             music.setAverageRating(BigDecimal.valueOf(newAverage));
             music.setTotalReviews(remainingReviews.size());
         }
+        music.setUpdatedAt(LocalDateTime.now());
 
-        musicRepository.save(music);
+        eventPublisher.publishEvent(MusicChangedEvent.saved(musicRepository.save(music)));
     }
 }
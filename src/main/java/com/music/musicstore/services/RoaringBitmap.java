@@ -0,0 +1,351 @@
+package com.music.musicstore.services;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative long ids in the Roaring layout: ids are grouped by their
+ * high bits into chunks of 65536, and each chunk is stored as a sorted char[] while sparse
+ * or as a 1024-word bitset once it holds more than 4096 values. Intersections work chunk
+ * by chunk with the cheapest strategy for each container pair.
+ * Not thread-safe; callers guard access.
+ */
+final class RoaringBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+
+    private long[] keys = new long[0];
+    private Container[] containers = new Container[0];
+
+    void add(long id) {
+        long key = id >>> 16;
+        char low = (char) id;
+        int i = Arrays.binarySearch(keys, key);
+        if (i >= 0) {
+            containers[i] = containers[i].add(low);
+            return;
+        }
+        int at = -i - 1;
+        keys = insert(keys, at, key);
+        Container[] grown = new Container[containers.length + 1];
+        System.arraycopy(containers, 0, grown, 0, at);
+        System.arraycopy(containers, at, grown, at + 1, containers.length - at);
+        grown[at] = new ArrayContainer().add(low);
+        containers = grown;
+    }
+
+    void remove(long id) {
+        int i = Arrays.binarySearch(keys, id >>> 16);
+        if (i < 0) {
+            return;
+        }
+        Container container = containers[i].remove((char) id);
+        if (container.cardinality() > 0) {
+            containers[i] = container;
+            return;
+        }
+        long[] newKeys = new long[keys.length - 1];
+        Container[] newContainers = new Container[containers.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, i);
+        System.arraycopy(containers, 0, newContainers, 0, i);
+        System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+        System.arraycopy(containers, i + 1, newContainers, i, containers.length - i - 1);
+        keys = newKeys;
+        containers = newContainers;
+    }
+
+    boolean contains(long id) {
+        int i = Arrays.binarySearch(keys, id >>> 16);
+        return i >= 0 && containers[i].contains((char) id);
+    }
+
+    boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    long cardinality() {
+        long total = 0;
+        for (Container container : containers) {
+            total += container.cardinality();
+        }
+        return total;
+    }
+
+    RoaringBitmap and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int n = Math.min(keys.length, other.keys.length);
+        long[] resultKeys = new long[n];
+        Container[] resultContainers = new Container[n];
+        int size = 0;
+        int i = 0, j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] == other.keys[j]) {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    resultKeys[size] = keys[i];
+                    resultContainers[size++] = container;
+                }
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        result.keys = Arrays.copyOf(resultKeys, size);
+        result.containers = Arrays.copyOf(resultContainers, size);
+        return result;
+    }
+
+    // |this AND other| without building the intersection
+    long andCardinality(RoaringBitmap other) {
+        long total = 0;
+        int i = 0, j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] == other.keys[j]) {
+                total += containers[i++].andCardinality(other.containers[j++]);
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return total;
+    }
+
+    long[] toArray() {
+        long[] ids = new long[(int) cardinality()];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            n = containers[i].copyTo(ids, n, keys[i] << 16);
+        }
+        return ids;
+    }
+
+    private static long[] insert(long[] values, int at, long value) {
+        long[] grown = new long[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, at);
+        grown[at] = value;
+        System.arraycopy(values, at, grown, at + 1, values.length - at);
+        return grown;
+    }
+
+    private interface Container {
+        Container add(char value);
+
+        Container remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        Container and(Container other);
+
+        int andCardinality(Container other);
+
+        int copyTo(long[] target, int offset, long base);
+    }
+
+    // Sorted values; used while the chunk holds at most ARRAY_LIMIT ids
+    private static final class ArrayContainer implements Container {
+        char[] values = new char[4];
+        int size;
+
+        @Override
+        public Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (size == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            int at = -i - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, values.length * 2));
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public Container and(Container other) {
+            ArrayContainer result = new ArrayContainer();
+            result.values = new char[Math.max(1, size)];
+            if (other instanceof ArrayContainer array) {
+                int i = 0, j = 0;
+                while (i < size && j < array.size) {
+                    if (values[i] == array.values[j]) {
+                        result.values[result.size++] = values[i];
+                        i++;
+                        j++;
+                    } else if (values[i] < array.values[j]) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (other.contains(values[i])) {
+                        result.values[result.size++] = values[i];
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0, j = 0;
+                while (i < size && j < array.size) {
+                    if (values[i] == array.values[j]) {
+                        count++;
+                        i++;
+                        j++;
+                    } else if (values[i] < array.values[j]) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (other.contains(values[i])) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int copyTo(long[] target, int offset, long base) {
+            for (int i = 0; i < size; i++) {
+                target[offset++] = base | values[i];
+            }
+            return offset;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    // One bit per possible low value; used once the chunk is dense
+    private static final class BitmapContainer implements Container {
+        final long[] words = new long[1024];
+        int cardinality;
+
+        @Override
+        public Container add(char value) {
+            long mask = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long mask = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & mask) != 0) {
+                words[word] &= ~mask;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_LIMIT / 2 ? toArray() : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            BitmapContainer result = new BitmapContainer();
+            for (int i = 0; i < words.length; i++) {
+                result.words[i] = words[i] & bitmap.words[i];
+                result.cardinality += Long.bitCount(result.words[i]);
+            }
+            return result.cardinality <= ARRAY_LIMIT ? result.toArray() : result;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                count += Long.bitCount(words[i] & bitmap.words[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public int copyTo(long[] target, int offset, long base) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    target[offset++] = base | ((long) i << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return offset;
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(1, cardinality)];
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    array.values[array.size++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return array;
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.configs.TokenUserDetails;
 import com.music.musicstore.models.users.Staff;
 import com.music.musicstore.repositories.StaffRepository;
 import com.music.musicstore.exceptions.ResourceNotFoundException;
 import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.exceptions.BusinessRuleException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,11 +25,19 @@ public class StaffService {
 
     private final StaffRepository staffRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityService userIdentityService;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public StaffService(StaffRepository staffRepository, PasswordEncoder passwordEncoder) {
+    public StaffService(StaffRepository staffRepository, PasswordEncoder passwordEncoder,
+                         UserIdentityService userIdentityService, UserDetailsCache userDetailsCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.staffRepository = staffRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userIdentityService = userIdentityService;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
         logger.info("StaffService initialized successfully");
     }
 
@@ -39,6 +50,11 @@ public class StaffService {
             throw new ValidationException("Username cannot be null or empty");
         }
 
+        TokenUserDetails cached = userDetailsCache.get(username, "ROLE_STAFF");
+        if (cached != null) {
+            return cached;
+        }
+
         Optional<Staff> staffOpt = staffRepository.findByUsername(username);
         if (staffOpt.isEmpty()) {
             // Don't log this as error since CombinedUserDetailsService expects this to fail for non-staff users
@@ -48,7 +64,9 @@ public class StaffService {
 
         Staff staff = staffOpt.get();
         logger.info("Successfully loaded staff: {}", username);
-        return staff;
+        TokenUserDetails snapshot = TokenUserDetails.snapshot(staff.getId(), staff);
+        userDetailsCache.put(snapshot);
+        return snapshot;
     }
 
     public Staff save(Staff staff) {
@@ -128,6 +146,7 @@ public class StaffService {
         }
     }
 
+    @Transactional
     public Staff createStaff(Staff staff) {
         logger.debug("Creating new staff: {}", staff != null ? staff.getUsername() : "null");
 
@@ -156,6 +175,7 @@ public class StaffService {
 
             staff.setPassword(passwordEncoder.encode(staff.getPassword()));
             Staff savedStaff = staffRepository.save(staff);
+            userIdentityService.register(savedStaff.getUsername(), "STAFF", savedStaff.getId());
 
             logger.info("Successfully created staff: {}", savedStaff.getUsername());
             return savedStaff;
@@ -178,6 +198,7 @@ public class StaffService {
         }
     }
 
+    @Transactional
     public void deleteStaff(Long id) {
         logger.debug("Deleting staff with ID: {}", id);
 
@@ -195,6 +216,8 @@ public class StaffService {
             }
 
             staffRepository.deleteById(id);
+            userIdentityService.remove(staff.get().getUsername());
+            eventPublisher.publishEvent(new UserAccountChangedEvent(staff.get().getUsername()));
             logger.info("Successfully deleted staff with ID: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting staff with ID: {}", id, e);
@@ -227,6 +250,7 @@ public class StaffService {
             staff.setCreatedAt(existingStaff.get().getCreatedAt()); // Preserve original creation time
 
             Staff updatedStaff = staffRepository.save(staff);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(existingStaff.get().getUsername()));
             logger.info("Successfully updated staff: {}", updatedStaff.getUsername());
             return updatedStaff;
         } catch (Exception e) {
@@ -1,5 +1,6 @@
 package com.music.musicstore.services;
 
+import com.music.musicstore.dto.SearchHit;
 import com.music.musicstore.models.users.Customer;
 import com.music.musicstore.models.users.Staff;
 import com.music.musicstore.models.support.Ticket;
@@ -11,19 +12,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.Optional;
 
 @Service
 public class TicketService {
+    private static final int TICKET_SEARCH_LIMIT = 100;
+
     private final TicketRepository ticketRepository;
     private final TicketMessageRepository ticketMessageRepository;
     private final CustomerService customerService;
+    private final FullTextSearchService fullTextSearchService;
     @Autowired
     public TicketService(TicketRepository ticketRepository,
                                  TicketMessageRepository ticketMessageRepository,
-                                     CustomerService customerService) {
+                                     CustomerService customerService,
+                                 FullTextSearchService fullTextSearchService) {
         this.ticketMessageRepository = ticketMessageRepository;
         this.customerService = customerService;
+        this.fullTextSearchService = fullTextSearchService;
 
                 this.ticketRepository = ticketRepository;
     }
@@ -174,11 +181,23 @@ public class TicketService {
 
     // Search tickets
     public List<Ticket> searchTickets(String searchTerm) {
+        if (fullTextSearchService.isEnabled()) {
+            return searchTicketsRanked(searchTerm, TICKET_SEARCH_LIMIT).stream()
+                    .map(SearchHit::getItem)
+                    .collect(Collectors.toList());
+        }
         List<Ticket> tickets = ticketRepository.findBySubjectOrMessageContentContaining(searchTerm);
         tickets.forEach(this::populateTransientFields);
         return tickets;
     }
 
+    // Search tickets by relevance with a highlighted snippet (search.backend=postgres)
+    public List<SearchHit<Ticket>> searchTicketsRanked(String searchTerm, int limit) {
+        List<SearchHit<Ticket>> hits = fullTextSearchService.searchTickets(searchTerm, limit);
+        hits.forEach(hit -> populateTransientFields(hit.getItem()));
+        return hits;
+    }
+
     // Update ticket status
     public Ticket updateTicketStatus(Long ticketId, String status) {
         Optional<Ticket> ticketOpt = ticketRepository.findById(ticketId);
@@ -0,0 +1,328 @@
+package com.music.musicstore.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache with W-TinyLFU eviction: new entries land in a small LRU window, and an entry
+ * leaving the window only displaces the main region's victim if a count-min sketch says it has
+ * been requested more often. The main region is a segmented LRU (probation / protected), so
+ * one-off scans cannot flush the popular entries.
+ *
+ * Lookups are a ConcurrentHashMap read. Recording the access takes the policy lock only if it
+ * is free; under contention the bookkeeping for that read is skipped, which costs a little
+ * precision but never blocks a reader.
+ */
+final class TinyLfuCache<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final int capacity;
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final List<Queue<K, V>> queues;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    TinyLfuCache(int capacity, long ttlMillis) {
+        this.capacity = Math.max(0, capacity);
+        this.windowCapacity = Math.max(1, this.capacity / 100);
+        this.protectedCapacity = (int) ((this.capacity - windowCapacity) * 0.8);
+        this.ttlMillis = ttlMillis;
+        this.sketch = new FrequencySketch(Math.max(16, this.capacity));
+        this.queues = List.of(new Queue<>(), new Queue<>(), new Queue<>());
+    }
+
+    V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null || node.expiresAt <= System.currentTimeMillis()) {
+            misses.increment();
+            // Misses count towards frequency too, so a key that keeps being asked for gets admitted
+            if (policyLock.tryLock()) {
+                try {
+                    sketch.increment(key);
+                } finally {
+                    policyLock.unlock();
+                }
+            }
+            return null;
+        }
+        hits.increment();
+        if (policyLock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    void put(K key, V value) {
+        if (capacity == 0 || key == null || value == null) {
+            return;
+        }
+        policyLock.lock();
+        try {
+            Node<K, V> existing = data.get(key);
+            if (existing != null) {
+                existing.value = value;
+                existing.expiresAt = System.currentTimeMillis() + ttlMillis;
+                onAccess(existing);
+                return;
+            }
+            Node<K, V> node = new Node<>(key, value, System.currentTimeMillis() + ttlMillis);
+            data.put(key, node);
+            queues.get(WINDOW).addFirst(node, WINDOW);
+            if (queues.get(WINDOW).size > windowCapacity) {
+                admit(queues.get(WINDOW).removeLast());
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        if (key == null) {
+            return;
+        }
+        policyLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                queues.get(node.queue).remove(node);
+                invalidations.increment();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    void clear() {
+        policyLock.lock();
+        try {
+            invalidations.add(data.size());
+            data.clear();
+            for (Queue<K, V> queue : queues) {
+                queue.clear();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", data.size());
+        stats.put("maxSize", capacity);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    // Called with the policy lock held
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        if (node.queue < 0) {
+            // Removed after the lock-free lookup found it
+            return;
+        }
+        if (node.queue == PROBATION) {
+            // A second hit while on probation earns a place in the protected segment
+            queues.get(PROBATION).remove(node);
+            queues.get(PROTECTED).addFirst(node, PROTECTED);
+            if (queues.get(PROTECTED).size > protectedCapacity) {
+                queues.get(PROBATION).addFirst(queues.get(PROTECTED).removeLast(), PROBATION);
+            }
+        } else {
+            queues.get(node.queue).moveToFront(node);
+        }
+    }
+
+    // A window evictee competes with the main region's victim; the less frequent one is dropped
+    private void admit(Node<K, V> candidate) {
+        int mainSize = queues.get(PROBATION).size + queues.get(PROTECTED).size;
+        if (mainSize < capacity - windowCapacity) {
+            queues.get(PROBATION).addFirst(candidate, PROBATION);
+            return;
+        }
+        Node<K, V> victim = queues.get(PROBATION).size > 0 ? queues.get(PROBATION).last() : queues.get(PROTECTED).last();
+        if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            queues.get(victim.queue).remove(victim);
+            data.remove(victim.key, victim);
+            queues.get(PROBATION).addFirst(candidate, PROBATION);
+        } else {
+            data.remove(candidate.key, candidate);
+            candidate.queue = -1;
+        }
+        evictions.increment();
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long expiresAt;
+        int queue = -1;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Intrusive doubly-linked LRU list; most recent first
+    private static final class Queue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+
+        void addFirst(Node<K, V> node, int id) {
+            node.queue = id;
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            } else {
+                tail = node;
+            }
+            head = node;
+            size++;
+        }
+
+        Node<K, V> last() {
+            return tail;
+        }
+
+        Node<K, V> removeLast() {
+            Node<K, V> node = tail;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.queue = -1;
+            size--;
+        }
+
+        void moveToFront(Node<K, V> node) {
+            if (head != node) {
+                int id = node.queue;
+                remove(node);
+                addFirst(node, id);
+            }
+        }
+
+        void clear() {
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                node.queue = -1;
+            }
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters (four rows, sixteen counters per long). Counters are
+     * halved once the sample period is reached, so the popularity estimate follows recent traffic.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[][] rows;
+        private final int mask;
+        private final int samplePeriod;
+        private int additions;
+
+        FrequencySketch(int expectedSize) {
+            int width = Integer.highestOneBit(Math.max(1, expectedSize / 16 * 4) - 1) << 1;
+            this.rows = new long[SEEDS.length][Math.max(1, width)];
+            this.mask = rows[0].length - 1;
+            this.samplePeriod = 10 * expectedSize;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < rows.length; row++) {
+                long h = (hash + SEEDS[row]) * SEEDS[row];
+                int index = (int) (h >>> 40) & mask;
+                int shift = (int) ((h >>> 20) & 15) << 2;
+                long counter = (rows[row][index] >>> shift) & 0xfL;
+                if (counter < 15) {
+                    rows[row][index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= samplePeriod) {
+                reset();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int min = 15;
+            for (int row = 0; row < rows.length; row++) {
+                long h = (hash + SEEDS[row]) * SEEDS[row];
+                int index = (int) (h >>> 40) & mask;
+                int shift = (int) ((h >>> 20) & 15) << 2;
+                min = Math.min(min, (int) ((rows[row][index] >>> shift) & 0xfL));
+            }
+            return min;
+        }
+
+        private void reset() {
+            for (long[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = (row[i] >>> 1) & RESET_MASK;
+                }
+            }
+            additions /= 2;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
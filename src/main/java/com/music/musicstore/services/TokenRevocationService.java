@@ -0,0 +1,307 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.configs.VerifiedToken;
+import com.music.musicstore.models.TokenRevocation;
+import com.music.musicstore.repositories.AdminRepository;
+import com.music.musicstore.repositories.ArtistRepository;
+import com.music.musicstore.repositories.CustomerRepository;
+import com.music.musicstore.repositories.StaffRepository;
+import com.music.musicstore.repositories.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token revocation list. Entries are persisted in token_revocations and mirrored in memory
+ * as exact maps fronted by a Bloom filter, so the per-request check for a token that was
+ * never revoked is a couple of hash probes with no map lookup.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Disabled accounts reject every token, whenever it was issued
+    private static final long DISABLED = Long.MAX_VALUE;
+
+    // Bloom filter key spaces
+    private static final int USER_KEYS = 1;
+    private static final int TOKEN_KEYS = 2;
+
+    private final CustomerRepository customerRepository;
+    private final ArtistRepository artistRepository;
+    private final StaffRepository staffRepository;
+    private final AdminRepository adminRepository;
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    // Per-user "not before" timestamp: tokens issued before it are rejected
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    // Individually revoked tokens (jti -> token expiry in epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder exactLookups = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+
+    @Value("${jwt.revocation.expected-entries:10000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Autowired
+    public TokenRevocationService(CustomerRepository customerRepository, ArtistRepository artistRepository,
+                                  StaffRepository staffRepository, AdminRepository adminRepository,
+                                  TokenRevocationRepository tokenRevocationRepository) {
+        this.customerRepository = customerRepository;
+        this.artistRepository = artistRepository;
+        this.staffRepository = staffRepository;
+        this.adminRepository = adminRepository;
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    @PostConstruct
+    void loadRevocations() {
+        filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        lastSync = LocalDateTime.now();
+        try {
+            tokenRevocationRepository.deleteExpiredTokens(LocalDateTime.now());
+            tokenRevocationRepository.findAll().forEach(this::apply);
+        } catch (Exception e) {
+            logger.error("Error loading persisted token revocations", e);
+        }
+
+        try {
+            // The users tables are authoritative for disabled accounts
+            customerRepository.findDisabledUsernames().forEach(this::applyDisabled);
+            artistRepository.findDisabledUsernames().forEach(this::applyDisabled);
+            staffRepository.findDisabledUsernames().forEach(this::applyDisabled);
+            adminRepository.findDisabledUsernames().forEach(this::applyDisabled);
+        } catch (Exception e) {
+            logger.error("Error loading disabled accounts for token revocation", e);
+        }
+
+        rebuildFilter();
+        logger.info("Loaded {} user cut-offs and {} revoked tokens into token revocation list",
+                notBefore.size(), revokedTokens.size());
+    }
+
+    /**
+     * Per-request check: the token's own id and the user's not-before cut-off
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        checks.increment();
+        String username = token.getSubject();
+        if (username == null) {
+            return true;
+        }
+
+        BloomFilter current = filter;
+        if (current.mightContain(USER_KEYS, username)) {
+            exactLookups.increment();
+            if (isBeforeCutoff(notBefore.get(username), token.getIssuedAt())) {
+                revokedHits.increment();
+                return true;
+            }
+        }
+
+        String tokenId = token.getTokenId();
+        if (tokenId != null && current.mightContain(TOKEN_KEYS, tokenId)) {
+            exactLookups.increment();
+            if (revokedTokens.containsKey(tokenId)) {
+                revokedHits.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        if (username == null) {
+            return true;
+        }
+        return filter.mightContain(USER_KEYS, username) && isBeforeCutoff(notBefore.get(username), issuedAt);
+    }
+
+    public void disableUser(String username) {
+        if (username != null) {
+            setCutoff(username, DISABLED, "DISABLED");
+            logger.debug("Revoked all tokens for disabled user: {}", username);
+        }
+    }
+
+    public void enableUser(String username) {
+        if (username != null) {
+            // Tokens issued while the account was disabled stay invalid
+            setCutoff(username, currentSecond(), "ENABLED");
+            logger.debug("Re-enabled token access for user: {}", username);
+        }
+    }
+
+    /**
+     * Reject every token issued to the user up to now, e.g. after deletion or a password change
+     */
+    public synchronized void revokeIssuedTokens(String username) {
+        if (username != null) {
+            long cutoff = Math.max(currentSecond(), notBefore.getOrDefault(username, 0L));
+            setCutoff(username, cutoff, "REVOKED");
+            logger.debug("Revoked previously issued tokens for user: {}", username);
+        }
+    }
+
+    /**
+     * Revoke a single token, e.g. on logout. Tokens without a jti fall back to the user's cut-off.
+     */
+    public synchronized void revokeToken(VerifiedToken token, String reason) {
+        if (token.getTokenId() == null) {
+            revokeIssuedTokens(token.getSubject());
+            return;
+        }
+
+        long expiresAt = token.getExpiration() != null ? token.getExpiration().getTime() : DISABLED;
+        revokedTokens.put(token.getTokenId(), expiresAt);
+        addToFilter(TOKEN_KEYS, token.getTokenId());
+
+        TokenRevocation entry = new TokenRevocation();
+        entry.setKind(TokenRevocation.Kind.TOKEN);
+        entry.setRevocationKey(TokenRevocation.tokenKey(token.getTokenId()));
+        entry.setTokenId(token.getTokenId());
+        entry.setUsername(token.getSubject());
+        entry.setExpiresAt(expiresAt == DISABLED ? null : toLocalDateTime(expiresAt));
+        entry.setReason(reason);
+        persist(entry);
+        logger.debug("Revoked token {} for user: {}", token.getTokenId(), token.getSubject());
+    }
+
+    /**
+     * Pull entries written by other instances and drop revoked tokens that have expired anyway
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}",
+               initialDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void synchronize() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            // Small overlap so rows committed around the previous sync are not missed; applying twice is harmless
+            List<TokenRevocation> changes = tokenRevocationRepository.findByUpdatedAtAfter(lastSync.minusSeconds(5));
+            changes.forEach(this::apply);
+            lastSync = now;
+
+            tokenRevocationRepository.deleteExpiredTokens(now);
+        } catch (Exception e) {
+            logger.error("Error synchronizing token revocations", e);
+        }
+
+        long currentMillis = System.currentTimeMillis();
+        boolean pruned = revokedTokens.values().removeIf(expiresAt -> expiresAt < currentMillis);
+        if (pruned || notBefore.size() + revokedTokens.size() > filter.capacity()) {
+            rebuildFilter();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("userCutoffs", notBefore.size());
+        stats.put("revokedTokens", revokedTokens.size());
+        stats.put("filterCapacity", filter.capacity());
+        stats.put("checks", checks.sum());
+        stats.put("exactLookups", exactLookups.sum());
+        stats.put("revoked", revokedHits.sum());
+        stats.put("lastSync", lastSync);
+        return stats;
+    }
+
+    private synchronized void setCutoff(String username, long cutoff, String reason) {
+        notBefore.put(username, cutoff);
+        addToFilter(USER_KEYS, username);
+
+        TokenRevocation entry = new TokenRevocation();
+        entry.setKind(TokenRevocation.Kind.USER);
+        entry.setRevocationKey(TokenRevocation.userKey(username));
+        entry.setUsername(username);
+        entry.setNotBefore(cutoff);
+        entry.setReason(reason);
+        persist(entry);
+    }
+
+    private void persist(TokenRevocation entry) {
+        try {
+            TokenRevocation row = tokenRevocationRepository.findByRevocationKey(entry.getRevocationKey())
+                    .orElse(entry);
+            row.setNotBefore(entry.getNotBefore());
+            row.setExpiresAt(entry.getExpiresAt());
+            row.setReason(entry.getReason());
+            row.setUpdatedAt(LocalDateTime.now());
+            tokenRevocationRepository.save(row);
+        } catch (Exception e) {
+            // The in-memory list still applies on this instance
+            logger.error("Error persisting token revocation {}", entry, e);
+        }
+    }
+
+    private synchronized void apply(TokenRevocation entry) {
+        if (entry.getKind() == TokenRevocation.Kind.USER && entry.getUsername() != null && entry.getNotBefore() != null) {
+            notBefore.put(entry.getUsername(), entry.getNotBefore());
+            addToFilter(USER_KEYS, entry.getUsername());
+        } else if (entry.getKind() == TokenRevocation.Kind.TOKEN && entry.getTokenId() != null) {
+            long expiresAt = entry.getExpiresAt() != null
+                    ? entry.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : DISABLED;
+            revokedTokens.put(entry.getTokenId(), expiresAt);
+            addToFilter(TOKEN_KEYS, entry.getTokenId());
+        }
+    }
+
+    private synchronized void applyDisabled(String username) {
+        notBefore.put(username, DISABLED);
+        addToFilter(USER_KEYS, username);
+    }
+
+    private void addToFilter(int keySpace, String value) {
+        filter.add(keySpace, value);
+    }
+
+    /**
+     * Bloom filters cannot forget entries, so a fresh one is built from the exact maps.
+     * Writers are synchronized on this service, so nothing is added while it is rebuilt.
+     */
+    private synchronized void rebuildFilter() {
+        int size = notBefore.size() + revokedTokens.size();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, size * 2), falsePositiveRate);
+        notBefore.keySet().forEach(username -> rebuilt.add(USER_KEYS, username));
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.add(TOKEN_KEYS, tokenId));
+        filter = rebuilt;
+    }
+
+    private static boolean isBeforeCutoff(Long cutoff, Date issuedAt) {
+        if (cutoff == null) {
+            return false;
+        }
+        return cutoff == DISABLED || issuedAt == null || issuedAt.getTime() < cutoff;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long currentSecond() {
+        // JWT "iat" has second precision, so cut-offs are truncated to match
+        return (System.currentTimeMillis() / 1000) * 1000;
+    }
+}
@@ -4,8 +4,10 @@ import com.music.musicstore.dto.UserDto;
 import com.music.musicstore.models.users.*;
 import com.music.musicstore.exceptions.ValidationException;
 import com.music.musicstore.exceptions.BusinessRuleException;
+import com.music.musicstore.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
@@ -38,6 +40,12 @@ public class UnifiedUserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
     public UnifiedUserService() {
         logger.info("UnifiedUserService initialized successfully");
     }
@@ -215,6 +223,37 @@ public class UnifiedUserService {
         }
     }
 
+    /**
+     * Load the account entity for login: one identity lookup plus one read of the owning table
+     */
+    public UserDetails findAccountByUsername(String username) {
+        UserIdentity identity = userIdentityService.resolve(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        try {
+            return switch (identity.getRole()) {
+                case "ADMIN" -> adminService.findByUsername(username);
+                case "STAFF" -> staffService.findByUsername(username);
+                case "ARTIST" -> artistService.findByUsername(username);
+                default -> customerService.findByUsername(username);
+            };
+        } catch (ResourceNotFoundException e) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+    }
+
+    public UserDto toUserDto(UserDetails user) {
+        if (user instanceof Customer customer) {
+            return convertCustomerToDto(customer);
+        } else if (user instanceof Artist artist) {
+            return convertArtistToDto(artist);
+        } else if (user instanceof Staff staff) {
+            return convertStaffToDto(staff);
+        } else if (user instanceof Admin admin) {
+            return convertAdminToDto(admin);
+        }
+        return getUserInfo(user);
+    }
+
     // Additional methods for admin functionality
     public long getTotalUsersCount() {
         return customerService.count() + artistService.count() + staffService.count() + adminService.count();
@@ -298,6 +337,11 @@ public class UnifiedUserService {
 
             logger.debug("Updating user with role: {}", role);
 
+            if (updateRequest instanceof Map && ((Map<?, ?>) updateRequest).get("password") != null) {
+                // A password change invalidates every token issued with the old one
+                tokenRevocationService.revokeIssuedTokens(existingUser.getUsername());
+            }
+
             switch (role.toUpperCase()) {
                 case "CUSTOMER":
                     Customer customer = customerService.findById(id);
@@ -378,6 +422,8 @@ public class UnifiedUserService {
                     logger.error("Invalid role for user deletion: {}", role);
                     throw new ValidationException("Invalid role: " + role);
             }
+
+            tokenRevocationService.revokeIssuedTokens(existingUser.getUsername());
         } catch (Exception e) {
             logger.error("Error deleting user with ID: {}", id, e);
             throw e;
@@ -432,6 +478,12 @@ public class UnifiedUserService {
                     logger.error("Invalid role for status update: {}", role);
                     throw new ValidationException("Invalid role: " + role);
             }
+
+            if (active) {
+                tokenRevocationService.enableUser(existingUser.getUsername());
+            } else {
+                tokenRevocationService.disableUser(existingUser.getUsername());
+            }
         } catch (Exception e) {
             logger.error("Error updating user status for ID: {}", id, e);
             throw e;
@@ -681,6 +733,12 @@ public class UnifiedUserService {
         }
 
         try {
+            // A hit in the index settles it; a miss is confirmed against the user tables
+            if (userIdentityService.findByUsername(username).isPresent()) {
+                logger.info("Username '{}' is taken", username);
+                return false;
+            }
+
             // Check in all user types
             try {
                 customerService.findByUsername(username);
@@ -819,9 +877,11 @@ public class UnifiedUserService {
                     logger.warn("Artist deletion not implemented");
                     throw new BusinessRuleException("Artist deletion not implemented");
                 case "ADMIN":
+                    tokenRevocationService.revokeIssuedTokens(adminService.findById(userId).getUsername());
                     adminService.deleteAdmin(userId);
                     break;
                 case "STAFF":
+                    tokenRevocationService.revokeIssuedTokens(staffService.findById(userId).getUsername());
                     staffService.deleteStaff(userId);
                     break;
                 default:
@@ -0,0 +1,16 @@
+package com.music.musicstore.services;
+
+/**
+ * Published whenever an account's credentials, status or existence changes
+ */
+public class UserAccountChangedEvent {
+    private final String username;
+
+    public UserAccountChangedEvent(String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,141 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.configs.TokenUserDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, time-limited cache of user snapshots in front of the loadUserByUsername lookups
+ */
+@Service
+public class UserDetailsCache {
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${user-details-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${user-details-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public TokenUserDetails get(String username) {
+        if (username == null || maxSize <= 0) {
+            return null;
+        }
+
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            if (entries.remove(username, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.user;
+    }
+
+    /**
+     * Cached snapshot for the username, only if it belongs to the given role (e.g. ROLE_CUSTOMER)
+     */
+    public TokenUserDetails get(String username, String role) {
+        TokenUserDetails user = get(username);
+        return user != null && role.equals(user.getRole()) ? user : null;
+    }
+
+    public void put(TokenUserDetails user) {
+        if (user == null || user.getUsername() == null || maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(user.getUsername())) {
+            makeRoom();
+        }
+        entries.put(user.getUsername(), new Entry(user, System.currentTimeMillis() + ttlSeconds * 1000));
+    }
+
+    public void evict(String username) {
+        if (username != null && entries.remove(username) != null) {
+            evictions.increment();
+            logger.debug("Evicted cached user details for: {}", username);
+        }
+    }
+
+    @EventListener
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        evict(event.getUsername());
+    }
+
+    public void clear() {
+        int size = entries.size();
+        entries.clear();
+        evictions.add(size);
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+        return stats;
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().expiresAt <= now) {
+                it.remove();
+                removed++;
+            }
+        }
+
+        // Still full: drop an arbitrary tenth rather than tracking recency on every read
+        if (entries.size() >= maxSize) {
+            int target = Math.max(1, maxSize / 10);
+            it = entries.entrySet().iterator();
+            while (it.hasNext() && target-- > 0) {
+                it.next();
+                it.remove();
+                removed++;
+            }
+        }
+        evictions.add(removed);
+    }
+
+    private static final class Entry {
+        private final TokenUserDetails user;
+        private final long expiresAt;
+
+        private Entry(TokenUserDetails user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
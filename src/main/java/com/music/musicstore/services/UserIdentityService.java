@@ -0,0 +1,177 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.exceptions.BusinessRuleException;
+import com.music.musicstore.models.users.UserIdentity;
+import com.music.musicstore.repositories.AdminRepository;
+import com.music.musicstore.repositories.ArtistRepository;
+import com.music.musicstore.repositories.CustomerRepository;
+import com.music.musicstore.repositories.StaffRepository;
+import com.music.musicstore.repositories.UserIdentityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class UserIdentityService {
+    private static final Logger logger = LoggerFactory.getLogger(UserIdentityService.class);
+
+    private final UserIdentityRepository userIdentityRepository;
+    private final CustomerRepository customerRepository;
+    private final ArtistRepository artistRepository;
+    private final StaffRepository staffRepository;
+    private final AdminRepository adminRepository;
+
+    // Off by default: the reconciled index is authoritative, so an unknown username costs one read
+    @Value("${user-identity.table-fallback:false}")
+    private boolean tableFallback;
+
+    @Autowired
+    public UserIdentityService(UserIdentityRepository userIdentityRepository, CustomerRepository customerRepository,
+                               ArtistRepository artistRepository, StaffRepository staffRepository,
+                               AdminRepository adminRepository) {
+        this.userIdentityRepository = userIdentityRepository;
+        this.customerRepository = customerRepository;
+        this.artistRepository = artistRepository;
+        this.staffRepository = staffRepository;
+        this.adminRepository = adminRepository;
+    }
+
+    public Optional<UserIdentity> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return userIdentityRepository.findByUsername(username);
+    }
+
+    /**
+     * Which table owns the username, for login and token checks. A miss in the index is final
+     * unless user-identity.table-fallback is set; then the tables are tried in the same
+     * precedence reconcile uses (admin, staff, artist, customer).
+     */
+    public Optional<UserIdentity> resolve(String username) {
+        Optional<UserIdentity> identity = findByUsername(username);
+        if (identity.isPresent() || !tableFallback || username == null) {
+            return identity;
+        }
+        Optional<UserIdentity> found = adminRepository.findByUsername(username)
+                .map(admin -> identity(username, "ADMIN", admin.getId()))
+                .or(() -> staffRepository.findByUsername(username).map(staff -> identity(username, "STAFF", staff.getId())))
+                .or(() -> artistRepository.findByUserName(username).map(artist -> identity(username, "ARTIST", artist.getId())))
+                .or(() -> customerRepository.findByUsername(username).map(customer -> identity(username, "CUSTOMER", customer.getId())));
+        found.ifPresent(owner -> logger.warn("User {} is missing from the identity index; found in {}",
+                username, owner.getOwnerTable()));
+        return found;
+    }
+
+    /**
+     * Indexes a new user. Runs in the transaction that wrote the user row, so a failure here
+     * rolls the user back as well and the two never disagree.
+     */
+    @Transactional
+    public void register(String username, String role, Long userId) {
+        if (username == null || userId == null) {
+            return;
+        }
+
+        if (userIdentityRepository.existsByUsername(username)) {
+            logger.error("Username already registered in another user table: {}", username);
+            throw new BusinessRuleException("Username already exists: " + username);
+        }
+        userIdentityRepository.save(new UserIdentity(username, role, ownerTable(role), userId));
+        logger.debug("Registered user identity: {} ({})", username, role);
+    }
+
+    @Transactional
+    public void remove(String username) {
+        if (username == null) {
+            return;
+        }
+
+        userIdentityRepository.deleteByUsername(username);
+        logger.debug("Removed user identity: {}", username);
+    }
+
+    @Transactional
+    public void rename(String oldUsername, String newUsername) {
+        userIdentityRepository.renameUsername(oldUsername, newUsername);
+        logger.debug("Renamed user identity: {} -> {}", oldUsername, newUsername);
+    }
+
+    /**
+     * Brings the index in line with the user tables once startup is done: users written directly
+     * through the repositories (e.g. seed data) are added, rows for users that no longer exist are
+     * dropped, and rows pointing at the wrong table or id are corrected
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            // Same precedence as the old lookup cascade, in case a username exists in more than one table
+            Map<String, UserIdentity> expected = new HashMap<>();
+            collect(adminRepository.findAllUsernamesAndIds(), "ADMIN", expected);
+            collect(staffRepository.findAllUsernamesAndIds(), "STAFF", expected);
+            collect(artistRepository.findAllUsernamesAndIds(), "ARTIST", expected);
+            collect(customerRepository.findAllUsernamesAndIds(), "CUSTOMER", expected);
+
+            List<UserIdentity> removed = new ArrayList<>();
+            List<UserIdentity> corrected = new ArrayList<>();
+            for (UserIdentity identity : userIdentityRepository.findAll()) {
+                UserIdentity wanted = expected.remove(identity.getUsername());
+                if (wanted == null) {
+                    removed.add(identity);
+                } else if (!wanted.getRole().equals(identity.getRole())
+                        || !wanted.getUserId().equals(identity.getUserId())) {
+                    identity.setRole(wanted.getRole());
+                    identity.setOwnerTable(wanted.getOwnerTable());
+                    identity.setUserId(wanted.getUserId());
+                    corrected.add(identity);
+                }
+            }
+            // Whatever is left in expected has no index row yet
+            userIdentityRepository.deleteAll(removed);
+            userIdentityRepository.saveAll(corrected);
+            userIdentityRepository.saveAll(expected.values());
+
+            if (expected.size() + removed.size() + corrected.size() > 0) {
+                logger.info("Reconciled user identities: {} added, {} removed, {} corrected",
+                        expected.size(), removed.size(), corrected.size());
+            }
+        } catch (Exception e) {
+            // Users missing from the index cannot sign in until this succeeds (or table-fallback is on)
+            logger.error("Error reconciling user identity index", e);
+        }
+    }
+
+    private void collect(List<Object[]> rows, String role, Map<String, UserIdentity> expected) {
+        for (Object[] row : rows) {
+            String username = (String) row[0];
+            if (username != null) {
+                expected.putIfAbsent(username, identity(username, role, (Long) row[1]));
+            }
+        }
+    }
+
+    private static UserIdentity identity(String username, String role, Long userId) {
+        return new UserIdentity(username, role, ownerTable(role), userId);
+    }
+
+    private static String ownerTable(String role) {
+        return switch (role) {
+            case "CUSTOMER" -> "customers";
+            case "ARTIST" -> "artists";
+            case "STAFF" -> "staff";
+            case "ADMIN" -> "admins";
+            default -> throw new IllegalArgumentException("Invalid role: " + role);
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.music.musicstore.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaDownloadsTest {
+
+    private static final long LENGTH = 1000;
+
+    @Test
+    void readsASingleClosedRange() {
+        assertThat(parse("bytes=0-99")).containsExactly(range(0, 100));
+        assertThat(parse("BYTES= 10 - 10 ")).containsExactly(range(10, 11));
+    }
+
+    @Test
+    void openEndedRangesRunToTheEnd() {
+        assertThat(parse("bytes=500-")).containsExactly(range(500, 1000));
+        assertThat(parse("bytes=900-5000")).containsExactly(range(900, 1000));
+    }
+
+    @Test
+    void suffixRangesCountFromTheEnd() {
+        assertThat(parse("bytes=-100")).containsExactly(range(900, 1000));
+        assertThat(parse("bytes=-5000")).containsExactly(range(0, 1000));
+    }
+
+    @Test
+    void mergesOverlappingAndAdjacentRanges() {
+        assertThat(parse("bytes=300-399,0-99,50-149")).containsExactly(range(0, 150), range(300, 400));
+        assertThat(parse("bytes=0-99,100-199")).containsExactly(range(0, 200));
+        assertThat(parse("bytes=0-9,-10")).containsExactly(range(0, 10), range(990, 1000));
+    }
+
+    @Test
+    void unsatisfiableRangesLeaveAnEmptyList() {
+        // An empty list is the 416 case
+        assertThat(parse("bytes=1000-1100")).isEmpty();
+        assertThat(parse("bytes=-0")).isEmpty();
+        assertThat(parse("bytes=2000-,0-9")).containsExactly(range(0, 10));
+    }
+
+    @Test
+    void malformedHeadersAreIgnored() {
+        assertThat(parse("items=0-99")).isNull();
+        assertThat(parse("bytes=")).isNull();
+        assertThat(parse("bytes=5")).isNull();
+        assertThat(parse("bytes=abc-")).isNull();
+        assertThat(parse("bytes=0-99,x-y")).isNull();
+        // last < first invalidates the whole header, even next to a valid range
+        assertThat(parse("bytes=0-9,20-10")).isNull();
+    }
+
+    @Test
+    void tooManyRangesFallBackToTheWholeFile() {
+        assertThat(parse(disjointRanges(16))).hasSize(16);
+        assertThat(parse(disjointRanges(17))).isNull();
+    }
+
+    private static List<long[]> parse(String header) {
+        return MediaDownloads.parseRanges(header, LENGTH);
+    }
+
+    private static long[] range(long start, long end) {
+        return new long[]{start, end};
+    }
+
+    private static String disjointRanges(int count) {
+        StringBuilder header = new StringBuilder("bytes=");
+        for (int i = 0; i < count; i++) {
+            header.append(i == 0 ? "" : ",").append(i * 10).append('-').append(i * 10 + 4);
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.music.musicstore.configs;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    @Test
+    void keysOnTheAddressTheTrustedProxySaw() {
+        // The client made up the first two entries; our proxy appended the real peer
+        assertThat(RateLimitFilter.forwardedClient("1.2.3.4, 5.6.7.8, 203.0.113.9", 1)).isEqualTo("203.0.113.9");
+        assertThat(RateLimitFilter.forwardedClient("203.0.113.9", 1)).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void countsTrustedHopsFromTheRight() {
+        // CDN then load balancer: the CDN appended the client, the balancer appended the CDN
+        assertThat(RateLimitFilter.forwardedClient("9.9.9.9, 203.0.113.9, 10.0.0.2", 2)).isEqualTo("203.0.113.9");
+        assertThat(RateLimitFilter.forwardedClient("203.0.113.9", 2)).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void missingOrEmptyHeadersFallBackToTheSocket() {
+        assertThat(RateLimitFilter.forwardedClient(null, 1)).isNull();
+        assertThat(RateLimitFilter.forwardedClient(" ", 1)).isNull();
+        assertThat(RateLimitFilter.forwardedClient("1.2.3.4, ", 1)).isNull();
+    }
+}
@@ -0,0 +1,61 @@
+package com.music.musicstore.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAnAddedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(0, "user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(0, "user" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(0, "user" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(0, "absent" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% target; allow for hashing variance
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void namespacesAreSeparateKeySpaces() {
+        BloomFilter filter = new BloomFilter(1_000, 0.001);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(1, "name" + i);
+        }
+        int leaked = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (filter.mightContain(2, "name" + i)) {
+                leaked++;
+            }
+        }
+        assertThat(leaked).isLessThan(20);
+        assertThat(filter.mightContain(1, "name0")).isTrue();
+    }
+
+    @Test
+    void anEmptyFilterContainsNothingAndSizesAreClamped() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertThat(filter.capacity()).isEqualTo(1);
+        assertThat(filter.mightContain(0, "")).isFalse();
+        filter.add(0, "");
+        assertThat(filter.mightContain(0, "")).isTrue();
+    }
+}
@@ -0,0 +1,68 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.CatalogGenerationRepository;
+import com.music.musicstore.repositories.MusicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionsTest {
+
+    private CatalogGenerationRepository catalogGenerationRepository;
+    private MusicRepository musicRepository;
+    private CatalogVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        catalogGenerationRepository = mock(CatalogGenerationRepository.class);
+        musicRepository = mock(MusicRepository.class);
+        versions = new CatalogVersions(catalogGenerationRepository, musicRepository);
+    }
+
+    @Test
+    void trackETagsFollowTheRowNotTheNode() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+        Music music = new Music();
+        music.setId(7L);
+        music.setUpdatedAt(updatedAt);
+
+        // A second instance stands in for another node: same row, same validator
+        CatalogVersions otherNode = new CatalogVersions(catalogGenerationRepository, musicRepository);
+        assertThat(otherNode.musicETag(music)).isEqualTo(versions.musicETag(music));
+
+        String before = versions.musicETag(music);
+        music.setUpdatedAt(updatedAt.plusNanos(1_000));
+        assertThat(versions.musicETag(music)).isNotEqualTo(before);
+    }
+
+    @Test
+    void unknownTracksHaveNoETag() {
+        when(musicRepository.findUpdatedAtById(404L)).thenReturn(List.of());
+        when(musicRepository.findUpdatedAtById(7L)).thenReturn(Collections.singletonList(null));
+
+        assertThat(versions.musicETag(404L)).isEmpty();
+        assertThat(versions.musicETag(7L)).isPresent();
+    }
+
+    @Test
+    void listETagsComeFromTheStoredGeneration() {
+        when(catalogGenerationRepository.findGeneration(CatalogVersions.MUSIC)).thenReturn(Optional.of(41L));
+        String before = versions.musicListETag();
+
+        versions.onMusicChanged(MusicChangedEvent.deleted(1L));
+        verify(catalogGenerationRepository).increment(CatalogVersions.MUSIC);
+
+        when(catalogGenerationRepository.findGeneration(CatalogVersions.MUSIC)).thenReturn(Optional.of(42L));
+        assertThat(versions.musicListETag()).isNotEqualTo(before);
+    }
+}
@@ -0,0 +1,114 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.MediaBlob;
+import com.music.musicstore.repositories.AlbumRepository;
+import com.music.musicstore.repositories.MediaBlobRepository;
+import com.music.musicstore.repositories.MusicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FileStorageServiceTest {
+
+    private static final String NAME = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.mp3";
+
+    @TempDir
+    Path uploads;
+
+    private MediaBlobRepository mediaBlobRepository;
+    private MusicRepository musicRepository;
+    private AlbumRepository albumRepository;
+    private FileStorageService service;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(uploads.resolve(NAME), "audio");
+        MediaRegistry mediaRegistry = mock(MediaRegistry.class);
+        when(mediaRegistry.find(NAME)).thenReturn(new MediaRegistry.Entry(NAME, file, null, 5, 0, "audio/mpeg"));
+        mediaBlobRepository = mock(MediaBlobRepository.class);
+        musicRepository = mock(MusicRepository.class);
+        albumRepository = mock(AlbumRepository.class);
+
+        service = new FileStorageService();
+        ReflectionTestUtils.setField(service, "uploadDir", uploads.toString());
+        ReflectionTestUtils.setField(service, "contentAddressed", true);
+        ReflectionTestUtils.setField(service, "mediaRegistry", mediaRegistry);
+        ReflectionTestUtils.setField(service, "mediaBlobRepository", mediaBlobRepository);
+        ReflectionTestUtils.setField(service, "musicRepository", musicRepository);
+        ReflectionTestUtils.setField(service, "albumRepository", albumRepository);
+    }
+
+    @Test
+    void keepsABlobWhileCountedReferencesRemain() {
+        when(mediaBlobRepository.decrementRefCount(eq(NAME), any())).thenReturn(1);
+        when(mediaBlobRepository.findById(NAME)).thenReturn(Optional.of(blob(1)));
+
+        assertThat(service.deleteFile(NAME)).isTrue();
+        assertThat(file).exists();
+    }
+
+    @Test
+    void keepsAFileAnUncountedRowStillUses() {
+        // The count reached zero, but an imported row points at the same digest name
+        when(mediaBlobRepository.decrementRefCount(eq(NAME), any())).thenReturn(1);
+        when(mediaBlobRepository.findById(NAME)).thenReturn(Optional.of(blob(0)));
+        when(musicRepository.countByAudioFilePathEndingWithOrImageUrlEndingWith(NAME, NAME)).thenReturn(2L);
+
+        assertThat(service.deleteFile(NAME)).isTrue();
+        assertThat(file).exists();
+        verify(mediaBlobRepository).setRefCount(eq(NAME), eq(2), any());
+        verify(mediaBlobRepository, never()).deleteUnreferenced(NAME);
+    }
+
+    @Test
+    void deletesTheFileWithItsLastReference() {
+        when(mediaBlobRepository.decrementRefCount(eq(NAME), any())).thenReturn(1);
+        when(mediaBlobRepository.findById(NAME)).thenReturn(Optional.of(blob(0)));
+
+        assertThat(service.deleteFile(NAME)).isTrue();
+        assertThat(file).doesNotExist();
+        verify(mediaBlobRepository).deleteUnreferenced(NAME);
+    }
+
+    @Test
+    void checksTheCatalogForDigestFilesWithoutABlobRow() {
+        when(mediaBlobRepository.decrementRefCount(eq(NAME), any())).thenReturn(0);
+        when(albumRepository.countByCoverImageUrlEndingWith(NAME)).thenReturn(1L);
+
+        assertThat(service.deleteFile(NAME)).isTrue();
+        assertThat(file).exists();
+        verify(mediaBlobRepository, never()).setRefCount(any(), anyInt(), any());
+    }
+
+    @Test
+    void deletesUuidFilesWithoutScanningTheCatalog() {
+        ReflectionTestUtils.setField(service, "contentAddressed", false);
+
+        assertThat(service.deleteFile(NAME)).isTrue();
+        assertThat(file).doesNotExist();
+        verify(mediaBlobRepository, never()).decrementRefCount(any(), any());
+        verifyNoInteractions(musicRepository, albumRepository);
+    }
+
+    private static MediaBlob blob(int refCount) {
+        MediaBlob blob = new MediaBlob(NAME, 5);
+        blob.setRefCount(refCount);
+        return blob;
+    }
+}
@@ -0,0 +1,55 @@
+package com.music.musicstore.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaRegistryTest {
+
+    @TempDir
+    Path uploads;
+
+    private MediaRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MediaRegistry();
+        ReflectionTestUtils.setField(registry, "uploadDir", uploads.toString());
+        registry.scan();
+    }
+
+    @Test
+    void aMissingNameIsProbedOnceWithinTheTtl() throws Exception {
+        assertThat(registry.find("/uploads/music/gone.mp3")).isNull();
+        Files.writeString(uploads.resolve("gone.mp3"), "audio");
+
+        // Still answered from the miss cache; the disk is not looked at again
+        assertThat(registry.find("/uploads/music/gone.mp3")).isNull();
+        assertThat(registry.getStats()).containsEntry("misses", 1L).containsEntry("cachedMisses", 1L);
+    }
+
+    @Test
+    void registeringAFileClearsItsMiss() throws Exception {
+        assertThat(registry.find("fresh.mp3")).isNull();
+
+        registry.register(Files.writeString(uploads.resolve("fresh.mp3"), "audio"));
+
+        assertThat(registry.find("fresh.mp3")).isNotNull();
+    }
+
+    @Test
+    void aZeroTtlProbesEveryTime() throws Exception {
+        ReflectionTestUtils.setField(registry, "missTtlMillis", 0L);
+        assertThat(registry.find("late.mp3")).isNull();
+
+        Files.writeString(uploads.resolve("late.mp3"), "audio");
+
+        assertThat(registry.find("late.mp3")).isNotNull();
+    }
+}
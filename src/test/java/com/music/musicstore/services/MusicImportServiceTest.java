@@ -0,0 +1,108 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MusicImportServiceTest {
+
+    private static final String HEADER = "name,artist,category,price\n";
+
+    @Test
+    void readsPlainRows() throws IOException {
+        MusicImportService.CsvRecordReader reader = csv(HEADER + "Intro,alice,Pop,1.99\nOutro,bob,Rock,2.49\n");
+
+        MusicImportService.ImportRow first = reader.next();
+        assertThat(first.number).isEqualTo(1);
+        assertThat(first.error).isNull();
+        assertThat(first.fields).containsEntry("name", "Intro").containsEntry("price", "1.99");
+        assertThat(reader.next().fields).containsEntry("artist", "bob");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void keepsCommasInsideQuotedFields() throws IOException {
+        MusicImportService.ImportRow row = csv(HEADER + "\"Hello, World\",alice,Pop,1.99\n").next();
+
+        assertThat(row.fields).containsEntry("name", "Hello, World").containsEntry("artist", "alice");
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        MusicImportService.ImportRow row = csv(HEADER + "\"The \"\"Best\"\" Song\",alice,Pop,\"\"\"\"\n").next();
+
+        assertThat(row.fields).containsEntry("name", "The \"Best\" Song").containsEntry("price", "\"");
+    }
+
+    @Test
+    void quotedFieldsMaySpanLines() throws IOException {
+        MusicImportService.CsvRecordReader reader = csv(HEADER + "\"Line one\r\nLine two\",alice,Pop,1.99\r\nNext,bob,Rock,2.49\r\n");
+
+        MusicImportService.ImportRow row = reader.next();
+        assertThat(row.fields).containsEntry("name", "Line one\r\nLine two").containsEntry("price", "1.99");
+        MusicImportService.ImportRow next = reader.next();
+        assertThat(next.number).isEqualTo(2);
+        assertThat(next.fields).containsEntry("name", "Next");
+    }
+
+    @Test
+    void acceptsCrLfAndAMissingFinalNewline() throws IOException {
+        MusicImportService.CsvRecordReader reader = csv("name,artist,category,price\r\nIntro,alice,Pop,1.99");
+
+        assertThat(reader.next().fields).containsEntry("price", "1.99");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void skipsBlankLinesAndStripsTheByteOrderMark() throws IOException {
+        MusicImportService.CsvRecordReader reader = csv("\uFEFF" + HEADER + "\nIntro,alice,Pop,1.99\n\n");
+
+        MusicImportService.ImportRow row = reader.next();
+        assertThat(row.number).isEqualTo(1);
+        assertThat(row.fields).containsEntry("name", "Intro");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        MusicImportService.ImportRow row = csv(HEADER + ",alice,,\n").next();
+
+        assertThat(row.error).isNull();
+        assertThat(row.fields).containsEntry("name", "").containsEntry("category", "").containsEntry("price", "");
+    }
+
+    @Test
+    void reportsRowsWithTheWrongNumberOfFields() throws IOException {
+        MusicImportService.CsvRecordReader reader = csv(HEADER + "Intro,alice,Pop\nOutro,bob,Rock,2.49\n");
+
+        assertThat(reader.next().error).isEqualTo("Expected 4 fields but found 3");
+        assertThat(reader.next().error).isNull();
+    }
+
+    @Test
+    void reportsAnUnterminatedQuote() throws IOException {
+        MusicImportService.ImportRow row = csv(HEADER + "\"Intro,alice,Pop,1.99\n").next();
+
+        assertThat(row.error).isEqualTo("Unterminated quoted field");
+    }
+
+    @Test
+    void rejectsAHeaderWithoutTheRequiredColumns() {
+        assertThatThrownBy(() -> csv("name,artist\nIntro,alice\n"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("category, price");
+        assertThatThrownBy(() -> csv(""))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("CSV file is empty");
+    }
+
+    private static MusicImportService.CsvRecordReader csv(String content) throws IOException {
+        return new MusicImportService.CsvRecordReader(new BufferedReader(new StringReader(content)));
+    }
+}
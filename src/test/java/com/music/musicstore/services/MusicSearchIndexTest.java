@@ -0,0 +1,120 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.MusicRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MusicSearchIndexTest {
+
+    @Test
+    void termPostingsMatchASortedMapThroughRandomEdits() {
+        Random random = new Random(42);
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        MusicSearchIndex.TermPostings postings = MusicSearchIndex.TermPostings.EMPTY;
+
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(id);
+                postings = postings.without(id);
+            } else {
+                int weight = 1 + random.nextInt(30);
+                expected.put(id, weight);
+                postings = postings.with(id, weight);
+            }
+            if (step % 97 == 0) {
+                assertMatches(postings, expected);
+            }
+        }
+        assertMatches(postings, expected);
+
+        for (Long id : List.copyOf(expected.keySet())) {
+            postings = postings.without(id);
+        }
+        assertThat(postings.isEmpty()).isTrue();
+        assertThat(postings.postings().ids).isEmpty();
+    }
+
+    @Test
+    void reweightingABaseIdKeepsOneEntry() {
+        MusicSearchIndex.TermPostings postings = new MusicSearchIndex.TermPostings(
+                new MusicSearchIndex.Postings(new long[]{1, 2, 3}, new int[]{4, 4, 4}));
+
+        postings = postings.with(2, 9).without(3).with(3, 1);
+
+        assertThat(postings.postings().ids).containsExactly(1, 2, 3);
+        assertThat(postings.postings().weights).containsExactly(4, 9, 1);
+        assertThat(postings.without(1).without(2).without(3).isEmpty()).isTrue();
+    }
+
+    @Test
+    void rebuildIndexesTheCatalogAndFollowsEdits() {
+        MusicRepository musicRepository = mock(MusicRepository.class);
+        // Deliberately out of id order
+        when(musicRepository.findAll()).thenReturn(List.of(
+                music(3L, "Blue Monday", "new_order", "Synth"),
+                music(1L, "Blue in Green", "miles", "Jazz"),
+                music(2L, "Monday Morning", "fleetwood", "Rock")));
+        MusicSearchIndex index = new MusicSearchIndex(musicRepository);
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index.search("blue", 0, 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(index.search("blue mon", 0, 10))).containsExactly(3L);
+        assertThat(ids(index.search("jazz", 0, 10))).containsExactly(1L);
+
+        index.index(music(1L, "Kind of Blue", "miles", "Jazz"));
+        assertThat(ids(index.search("green", 0, 10))).isEmpty();
+        assertThat(ids(index.search("kind", 0, 10))).containsExactly(1L);
+
+        index.remove(3L);
+        assertThat(ids(index.search("monday", 0, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void ratingOnlyChangesKeepTheTermsAndRefreshTheDocument() {
+        MusicRepository musicRepository = mock(MusicRepository.class);
+        when(musicRepository.findAll()).thenReturn(List.of(music(1L, "Blue in Green", "miles", "Jazz")));
+        MusicSearchIndex index = new MusicSearchIndex(musicRepository);
+        index.rebuild();
+
+        Music rated = music(1L, "Blue in Green", "miles", "Jazz");
+        rated.setAverageRating(new BigDecimal("4.5"));
+        index.index(rated);
+
+        List<Music> found = index.search("green", 0, 10).getContent();
+        assertThat(found).hasSize(1);
+        assertThat(found.get(0).getAverageRating()).isEqualByComparingTo("4.5");
+    }
+
+    private static void assertMatches(MusicSearchIndex.TermPostings postings, Map<Long, Integer> expected) {
+        MusicSearchIndex.Postings merged = postings.postings();
+        assertThat(merged.ids).containsExactly(expected.keySet().stream().mapToLong(Long::longValue).toArray());
+        assertThat(merged.weights).containsExactly(expected.values().stream().mapToInt(Integer::intValue).toArray());
+        assertThat(postings.isEmpty()).isEqualTo(expected.isEmpty());
+    }
+
+    private static List<Long> ids(MusicSearchIndex.SearchResult result) {
+        return result.getContent().stream().map(Music::getId).toList();
+    }
+
+    private static Music music(Long id, String name, String artist, String genre) {
+        Music music = new Music();
+        music.setId(id);
+        music.setName(name);
+        music.setArtistUsername(artist);
+        music.setGenre(genre);
+        music.setCategory(genre);
+        return music;
+    }
+}
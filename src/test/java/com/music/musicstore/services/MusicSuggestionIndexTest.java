@@ -0,0 +1,164 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.models.music.Music;
+import com.music.musicstore.repositories.MusicRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MusicSuggestionIndexTest {
+
+    private static final String[] WORDS = {"ab", "abc", "ba", "bad", "cab", "dab"};
+    private static final String[] PREFIXES = {"a", "ab", "abc", "b", "ba", "bad", "c", "d", "dab ab", "ab b", "z", "z1"};
+
+    @Test
+    void returnsTheMostPopularCompletionsFirst() {
+        List<Music> catalog = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            catalog.add(music((long) i, "Song " + i, "artist" + i, i));
+        }
+        MusicSuggestionIndex index = index(catalog);
+
+        List<MusicSuggestionIndex.Suggestion> top = index.suggest("so", 20);
+        assertThat(top).hasSize(MusicSuggestionIndex.TOP_K);
+        assertThat(top).extracting(MusicSuggestionIndex.Suggestion::getText)
+                .startsWith("Song 15", "Song 14", "Song 13")
+                .doesNotContain("Song 5");
+        assertThat(index.suggest("song", 3)).extracting(MusicSuggestionIndex.Suggestion::getText)
+                .containsExactly("Song 15", "Song 14", "Song 13");
+    }
+
+    @Test
+    void removingATopEntryPromotesTheNextBestFromTheSubtree() {
+        List<Music> catalog = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            catalog.add(music((long) i, "Song " + i, "artist" + i, i));
+        }
+        MusicSuggestionIndex index = index(catalog);
+
+        index.remove(15L);
+        index.update(music(1L, "Song 1", "artist1", 100));
+
+        assertThat(index.suggest("song", MusicSuggestionIndex.TOP_K))
+                .extracting(MusicSuggestionIndex.Suggestion::getText)
+                .containsExactly("Song 1", "Song 14", "Song 13", "Song 12", "Song 11", "Song 10",
+                        "Song 9", "Song 8", "Song 7", "Song 6");
+    }
+
+    @Test
+    void matchesLaterWordsAndIgnoresCaseAndAccents() {
+        MusicSuggestionIndex index = index(List.of(
+                music(1L, "Blue Monday", "new_order", 0),
+                music(2L, "Halo", "Beyonc\u00e9", 0),
+                music(3L, "Crazy in Love", "Beyonc\u00e9", 0)));
+
+        assertThat(index.suggest("MON", 5)).extracting(MusicSuggestionIndex.Suggestion::getText)
+                .containsExactly("Blue Monday");
+        MusicSuggestionIndex.Suggestion artist = index.suggest("beyonce", 5).get(0);
+        assertThat(artist.getType()).isEqualTo(MusicSuggestionIndex.Type.ARTIST);
+        // Both tracks count towards the artist
+        assertThat(artist.getPopularity()).isEqualTo(2);
+        assertThat(index.suggest("", 5)).isEmpty();
+    }
+
+    @Test
+    void topKMatchesABruteForceRankingThroughRandomEdits() {
+        Random random = new Random(11);
+        Map<Long, Music> catalog = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            catalog.put(id, randomMusic(random, id));
+        }
+        MusicSuggestionIndex index = index(new ArrayList<>(catalog.values()));
+        assertMatchesBruteForce(index, catalog);
+
+        for (int step = 0; step < 400; step++) {
+            long id = 1 + random.nextInt(220);
+            if (random.nextInt(4) == 0) {
+                catalog.remove(id);
+                index.remove(id);
+            } else {
+                Music music = randomMusic(random, id);
+                catalog.put(id, music);
+                index.update(music);
+            }
+            if (step % 40 == 0) {
+                assertMatchesBruteForce(index, catalog);
+            }
+        }
+        assertMatchesBruteForce(index, catalog);
+    }
+
+    private static void assertMatchesBruteForce(MusicSuggestionIndex index, Map<Long, Music> catalog) {
+        // (type, text) -> summed popularity, as the index aggregates it
+        Map<String, Long> totals = new HashMap<>();
+        for (Music music : catalog.values()) {
+            long popularity = 1 + music.getTotalReviews();
+            totals.merge("TITLE|" + music.getName(), popularity, Long::sum);
+            totals.merge("ARTIST|" + music.getArtistUsername(), popularity, Long::sum);
+        }
+        for (String prefix : PREFIXES) {
+            List<String> expected = totals.entrySet().stream()
+                    .filter(entry -> matches(entry.getKey().substring(entry.getKey().indexOf('|') + 1), prefix))
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(entry -> entry.getKey().substring(entry.getKey().indexOf('|') + 1)))
+                    .limit(MusicSuggestionIndex.TOP_K)
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .toList();
+            List<String> actual = index.suggest(prefix, MusicSuggestionIndex.TOP_K).stream()
+                    .map(s -> s.getType() + "|" + s.getText() + "=" + s.getPopularity())
+                    .toList();
+            assertThat(actual).as("prefix '%s'", prefix).isEqualTo(expected);
+        }
+    }
+
+    // The phrase, or the phrase from any later word (titles here have at most four words)
+    private static boolean matches(String text, String prefix) {
+        if (text.startsWith(prefix)) {
+            return true;
+        }
+        for (int space = text.indexOf(' '); space >= 0; space = text.indexOf(' ', space + 1)) {
+            if (text.startsWith(prefix, space + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Music randomMusic(Random random, long id) {
+        int words = 1 + random.nextInt(3);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            title.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        // Artist names live under "z" so they never tie with a title of the same text
+        return music(id, title.toString(), "z" + random.nextInt(12), random.nextInt(50));
+    }
+
+    private static MusicSuggestionIndex index(List<Music> catalog) {
+        MusicRepository musicRepository = mock(MusicRepository.class);
+        when(musicRepository.findAll()).thenReturn(catalog);
+        MusicSuggestionIndex index = new MusicSuggestionIndex(musicRepository);
+        index.rebuild();
+        return index;
+    }
+
+    private static Music music(Long id, String name, String artist, int reviews) {
+        Music music = new Music();
+        music.setId(id);
+        music.setName(name);
+        music.setArtistUsername(artist);
+        music.setTotalReviews(reviews);
+        music.setAverageRating(BigDecimal.ZERO);
+        return music;
+    }
+}
@@ -0,0 +1,103 @@
+package com.music.musicstore.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoaringBitmapTest {
+
+    @Test
+    void chunksSwitchToABitmapPastTheArrayLimitAndBackWellBelowIt() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (long id = 0; id < 4096; id++) {
+            bitmap.add(id * 2);
+        }
+        assertThat(containerType(bitmap, 0)).isEqualTo("ArrayContainer");
+
+        bitmap.add(1);
+        assertThat(containerType(bitmap, 0)).isEqualTo("BitmapContainer");
+        assertThat(bitmap.cardinality()).isEqualTo(4097);
+
+        // Hysteresis: removing one id does not flip it straight back
+        bitmap.remove(1);
+        assertThat(containerType(bitmap, 0)).isEqualTo("BitmapContainer");
+
+        for (long id = 0; id < 2048; id++) {
+            bitmap.remove(id * 2);
+        }
+        assertThat(containerType(bitmap, 0)).isEqualTo("ArrayContainer");
+        assertThat(bitmap.cardinality()).isEqualTo(2048);
+        assertThat(bitmap.contains(4094)).isFalse();
+        assertThat(bitmap.contains(4096)).isTrue();
+        assertThat(bitmap.toArray()[0]).isEqualTo(4096);
+    }
+
+    @Test
+    void emptiedChunksAreDropped() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(5);
+        bitmap.add(70_000);
+        bitmap.remove(5);
+
+        assertThat(bitmap.toArray()).containsExactly(70_000);
+        bitmap.remove(70_000);
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.cardinality()).isZero();
+    }
+
+    @Test
+    void intersectionsMatchASortedSetForEveryContainerPair() {
+        Random random = new Random(7);
+        // Per chunk density: sparse (array) or dense (bitmap) on each side
+        int[][] densities = {{100, 100}, {100, 30_000}, {30_000, 100}, {30_000, 30_000}};
+        for (int[] density : densities) {
+            TreeSet<Long> left = new TreeSet<>();
+            TreeSet<Long> right = new TreeSet<>();
+            RoaringBitmap a = new RoaringBitmap();
+            RoaringBitmap b = new RoaringBitmap();
+            for (int chunk = 0; chunk < 3; chunk++) {
+                fill(random, chunk, density[0], left, a);
+                // The right side skips chunk 1 entirely, so one chunk has no partner
+                if (chunk != 1) {
+                    fill(random, chunk, density[1], right, b);
+                }
+            }
+
+            TreeSet<Long> expected = new TreeSet<>(left);
+            expected.retainAll(right);
+            RoaringBitmap both = a.and(b);
+            assertThat(both.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+            assertThat(both.cardinality()).isEqualTo(expected.size());
+            assertThat(a.andCardinality(b)).isEqualTo(expected.size());
+            assertThat(b.andCardinality(a)).isEqualTo(expected.size());
+        }
+    }
+
+    @Test
+    void disjointBitmapsIntersectToEmpty() {
+        RoaringBitmap a = new RoaringBitmap();
+        RoaringBitmap b = new RoaringBitmap();
+        a.add(1);
+        b.add(65_537);
+
+        assertThat(a.and(b).isEmpty()).isTrue();
+        assertThat(a.andCardinality(b)).isZero();
+    }
+
+    private static void fill(Random random, int chunk, int count, TreeSet<Long> expected, RoaringBitmap bitmap) {
+        for (int i = 0; i < count; i++) {
+            long id = ((long) chunk << 16) | random.nextInt(65_536);
+            expected.add(id);
+            bitmap.add(id);
+        }
+    }
+
+    private static String containerType(RoaringBitmap bitmap, int index) {
+        Object[] containers = (Object[]) ReflectionTestUtils.getField(bitmap, "containers");
+        return containers[index].getClass().getSimpleName();
+    }
+}
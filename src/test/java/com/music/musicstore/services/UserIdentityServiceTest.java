@@ -0,0 +1,132 @@
+package com.music.musicstore.services;
+
+import com.music.musicstore.exceptions.BusinessRuleException;
+import com.music.musicstore.models.users.Staff;
+import com.music.musicstore.models.users.UserIdentity;
+import com.music.musicstore.repositories.AdminRepository;
+import com.music.musicstore.repositories.ArtistRepository;
+import com.music.musicstore.repositories.CustomerRepository;
+import com.music.musicstore.repositories.StaffRepository;
+import com.music.musicstore.repositories.UserIdentityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserIdentityServiceTest {
+
+    private UserIdentityRepository userIdentityRepository;
+    private CustomerRepository customerRepository;
+    private ArtistRepository artistRepository;
+    private StaffRepository staffRepository;
+    private AdminRepository adminRepository;
+    private UserIdentityService service;
+
+    @BeforeEach
+    void setUp() {
+        userIdentityRepository = mock(UserIdentityRepository.class);
+        customerRepository = mock(CustomerRepository.class);
+        artistRepository = mock(ArtistRepository.class);
+        staffRepository = mock(StaffRepository.class);
+        adminRepository = mock(AdminRepository.class);
+        service = new UserIdentityService(userIdentityRepository, customerRepository, artistRepository,
+                staffRepository, adminRepository);
+    }
+
+    @Test
+    void reconcileFixesTheIndexEvenWhenTheCountsAgree() {
+        // Two users in the tables and two index rows, but only "alice" is right
+        when(customerRepository.findAllUsernamesAndIds()).thenReturn(rows("alice", 1L, "carol", 3L));
+        when(artistRepository.findAllUsernamesAndIds()).thenReturn(List.of());
+        when(staffRepository.findAllUsernamesAndIds()).thenReturn(List.of());
+        when(adminRepository.findAllUsernamesAndIds()).thenReturn(List.of());
+        UserIdentity alice = new UserIdentity("alice", "CUSTOMER", "customers", 1L);
+        UserIdentity bob = new UserIdentity("bob", "CUSTOMER", "customers", 2L);
+        when(userIdentityRepository.findAll()).thenReturn(List.of(alice, bob));
+
+        service.reconcile();
+
+        verify(userIdentityRepository).deleteAll(List.of(bob));
+        assertThat(savedUsernames()).containsExactly("carol");
+    }
+
+    @Test
+    void reconcileCorrectsRowsPointingAtTheWrongTable() {
+        when(customerRepository.findAllUsernamesAndIds()).thenReturn(List.of());
+        when(artistRepository.findAllUsernamesAndIds()).thenReturn(rows("dave", 7L));
+        when(staffRepository.findAllUsernamesAndIds()).thenReturn(List.of());
+        when(adminRepository.findAllUsernamesAndIds()).thenReturn(List.of());
+        UserIdentity dave = new UserIdentity("dave", "CUSTOMER", "customers", 4L);
+        when(userIdentityRepository.findAll()).thenReturn(List.of(dave));
+
+        service.reconcile();
+
+        assertThat(dave.getRole()).isEqualTo("ARTIST");
+        assertThat(dave.getOwnerTable()).isEqualTo("artists");
+        assertThat(dave.getUserId()).isEqualTo(7L);
+        verify(userIdentityRepository).saveAll(List.of(dave));
+    }
+
+    @Test
+    void registerFailsWhenTheUsernameIsTaken() {
+        when(userIdentityRepository.existsByUsername("erin")).thenReturn(true);
+
+        assertThatThrownBy(() -> service.register("erin", "STAFF", 5L))
+                .isInstanceOf(BusinessRuleException.class);
+        verify(userIdentityRepository, never()).save(any());
+    }
+
+    @Test
+    void anIndexMissIsFinalByDefault() {
+        when(userIdentityRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+
+        assertThat(service.resolve("nobody")).isEmpty();
+        verifyNoInteractions(customerRepository, artistRepository, staffRepository, adminRepository);
+    }
+
+    @Test
+    void theTableFallbackUsesTheReconcilePrecedence() {
+        ReflectionTestUtils.setField(service, "tableFallback", true);
+        when(userIdentityRepository.findByUsername("frank")).thenReturn(Optional.empty());
+        Staff staff = new Staff();
+        staff.setId(9L);
+        when(adminRepository.findByUsername("frank")).thenReturn(Optional.empty());
+        when(staffRepository.findByUsername("frank")).thenReturn(Optional.of(staff));
+
+        UserIdentity identity = service.resolve("frank").orElseThrow();
+
+        assertThat(identity.getRole()).isEqualTo("STAFF");
+        assertThat(identity.getUserId()).isEqualTo(9L);
+        verifyNoInteractions(artistRepository, customerRepository);
+    }
+
+    private static List<Object[]> rows(Object... values) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 2) {
+            rows.add(new Object[]{values[i], values[i + 1]});
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> savedUsernames() {
+        ArgumentCaptor<Collection<UserIdentity>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(userIdentityRepository, atLeastOnce()).saveAll(saved.capture());
+        return saved.getAllValues().stream().flatMap(Collection::stream).map(UserIdentity::getUsername).toList();
+    }
+}
@@ -0,0 +1,8 @@
+-- Music ids come from a pooled sequence (allocationSize 50) instead of an identity column, so
+-- Hibernate can batch inserts. Run once before deploying; new databases get this from the schema update.
+CREATE SEQUENCE IF NOT EXISTS music_id_seq_pooled INCREMENT BY 50 START WITH 1;
+-- Hibernate treats each value as the top of a block of 50, so the first one must clear MAX(id) by a full block
+SELECT setval('music_id_seq_pooled', COALESCE((SELECT MAX(id) FROM music), 0) + 50, false);
+-- No column default: a raw nextval() would hand out the top of a block Hibernate is still using
+ALTER TABLE music ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE music ALTER COLUMN id DROP DEFAULT;